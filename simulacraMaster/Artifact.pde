@@ -10,7 +10,7 @@ public class Artifact{
   // PROPERTIES
   //////////////////////
 
-  ArrayList<Vert> vertices;
+  VertexBuffer vertices;
   PVector position;
   PVector rotation;
   PVector scale;
@@ -20,6 +20,28 @@ public class Artifact{
   int numFrames = numFrames_Slider;
   int meshIterator = 0;
 
+  // The topology values the vertices were last built from, null until the first build
+  float[] builtParams;
+
+  // Counts every call to setup(), so anything derived from the vertices can tell when they were rebuilt
+  int buildCount = 0;
+
+  // Noise sampled on earlier loops of the animation
+  LoopNoiseCache noiseCache = new LoopNoiseCache();
+
+  // Set while exporting, so exported frames never come from the cache
+  boolean exporting = false;
+
+  // The shape's triangles on the GPU, see RetainedMesh.pde
+  RetainedMesh retained = new RetainedMesh();
+
+  // The values the shader modulates the vertices with this frame, null when modulated on the CPU
+  FrameParams gpuParams;
+
+  // Disable to modulate the vertices on the calling thread only
+  boolean parallelVertices = true;
+
+
   ////////////////////////
   // CONSTRUCTOR
   //////////////////////
@@ -29,7 +51,7 @@ public class Artifact{
     position = new PVector(0,0,0);
     rotation = new PVector(0,0,0);
     scale = new PVector(1.,1.,1.);
-    vertices = new ArrayList<Vert>();
+    vertices = new VertexBuffer();
     setup();
   }
 
@@ -37,16 +59,47 @@ public class Artifact{
 
     // This setup() function gets overridden by each classes own setup() function
 
-    // Create an empty array for the vertices to populate
-    vertices = new ArrayList<Vert>();
+    // Empty the buffer for the vertices to populate
+    vertices.clear();
   }
 
-  public void update(int it) {
+  // Returns the GUI values this shape's vertices are built from.
+  // Each class overrides this with the globals its setup() reads, so the shape is only rebuilt when one of them changes.
+  public float[] topologyParams(){
+    return new float[0];
+  }
+
+  // Whether the vertices need to be rebuilt before the next update.
+  // Classes whose vertices change every frame (sequences, reaction diffusion) override this to always return true.
+  public boolean isDirty(){
+    return builtParams == null || !Arrays.equals(builtParams, topologyParams());
+  }
 
-    // Update the rotation by adding the GUI rotation amount to its current rotation
+  // Call setup() only if the topology has changed since the last build
+  public void rebuild(){
+    if (isDirty()){
+      float[] params = topologyParams();
+      setup();
+      builtParams = params;
+      buildCount++;
+    }
+  }
+
+  // Force a rebuild regardless of whether any values have changed
+  public void invalidate(){
+    builtParams = null;
+  }
+
+  // Update the rotation by adding the GUI rotation amount to its current rotation
+  public void advanceRotation(){
     rotation.y += rotationY;
     rotation.x += rotationX;
     rotation.z += rotationZ;
+  }
+
+  public void update(int it) {
+
+    advanceRotation();
 
     // Update the scale by adding the GUI scale amount to its current scale
     scale.x = scaleMod;
@@ -80,15 +133,89 @@ public class Artifact{
       }
     }
 
-    // Update each vert every frame
-    for(int i = 0; i < vertices.size(); i++){
-      vertices.get(i).update(it);
+    // Reuse the noise from earlier loops if enabled
+    LoopNoiseCache cache = null;
+    if (bLoopCache && !exporting) cache = noiseCache.prepare(vertices.count, vertices.initVersion);
+    else noiseCache.clear();
+
+    // Snapshot the GUI values once, so every vertex is modulated with the same parameters
+    FrameParams params = new FrameParams(it, cache);
+
+    // Leave the modulation to the shader if it will be drawing this frame, see GpuModulation.pde
+    if (modulateOnGpu(params)){
+      gpuParams = params;
+    }
+    else {
+      gpuParams = null;
+      modulate(params);
     }
 
     // Advance the iterator every frame.
     it++;
   }
 
+  // Modulate every vertex with the frame's modulator
+  public void modulate(FrameParams params){
+
+    // Update each vert every frame, across all cores for larger meshes
+    if (bParallel && parallelVertices && vertices.count > parallelChunk && canModulateInParallel(params.modulator)){
+      updatePool.invoke(new VertexUpdateTask(vertices, params, 0, vertices.count));
+    }
+    else {
+      params.modulator.modulate(vertices, 0, vertices.count, params);
+    }
+
+    // Every vertex of this frame has now been stored
+    if (params.cache != null) params.cache.complete(params.frame);
+  }
+
+  // Whether the vertex shader will modulate the vertices as they are drawn. Never while exporting.
+  public boolean modulateOnGpu(FrameParams params){
+    return bGpuModulation && bRetained && !exporting && gpuModulates(params) && retained.canDraw(this, g);
+  }
+
+  // ANIMATE
+  // Changes made to the shape every frame before it is drawn, such as stepping the Grey Scott simulation
+  // or animating the shape's values. Kept out of draw() so a frame can be exported without drawing it.
+  public void animate(int it){
+  }
+
+  // FEED
+  // Seeds the Grey Scott simulation before each step, called by GreyScottSim.pde.
+  // May be called from the simulation's thread, so only changes the grid.
+  public void feed(int it){
+  }
+
+  // The Grey Scott iterations run each step while this shape feeds the simulation
+  public int greyScottIterations(){
+    return gsIterations;
+  }
+
+  // Feed a gridW x gridH area of the Grey Scott grid at every creature's position in creature mode,
+  // otherwise with a small amount in the centre
+  public void feedGrid(int it, int gridW, int gridH, int w, int h){
+    if (bCreatures) creatureField.feed(gs, it, gridW, gridH, w, h);
+    else gs.setRect(gridW/2, gridH/2, 3, 3);
+  }
+
+  // Animate the shape, then draw it, from buffers kept on the GPU where possible
+  public void render(PGraphics pg, int it){
+    animate(it);
+    if (bRetained && retained.draw(this, pg)) return;
+
+    // Drawn without the shader after all, so modulate the vertices here
+    modulateOnCpu();
+    draw(pg, it);
+  }
+
+  // Modulate the vertices now if the last update() left them to the shader
+  public void modulateOnCpu(){
+    if (gpuParams != null){
+      modulate(gpuParams);
+      gpuParams = null;
+    }
+  }
+
   // Draw all vertices using Points to a PGraphics object
   public void draw(PGraphics pg, int it){
 
@@ -96,9 +223,8 @@ public class Artifact{
     pushTransform(pg);
 
     pg.beginShape(POINTS);
-    for (int i = 0; i < vertices.size(); i++){
-      PVector p = vertices.get(i).position;
-      pg.vertex(p.x, p.y, p.z);
+    for (int i = 0; i < vertices.count; i++){
+      pg.vertex(vertices.x[i], vertices.y[i], vertices.z[i]);
     }
     pg.endShape();
     popTransform(pg);
@@ -108,38 +234,133 @@ public class Artifact{
 
 // EXPORTING MESHES
 
-  // Uses the OBJExport library:
+  // Frames are written by ObjWriter, or by the OBJExport library when bNativeObj is disabled:
   // https://n-e-r-v-o-u-s.com/tools/obj/
 
   public void exportMesh(String fileName, int i){
     // Outputs an .obj file to the project folder.
-    MeshExport output = (MeshExport) createGraphics(10, 10, "nervoussystem.obj.OBJExport", fileName + ".obj");
-    output.beginDraw();
-    this.draw(output, i);
-    output.endDraw();
-    output.dispose();
+    exporting = true;
+    exportFrame(fileName + ".obj", i);
+    exporting = false;
     println(fileName + " Export complete.");
   }
 
+  // Animate the current frame and write it to an .obj file
+  public void exportFrame(String path, int i){
+    if (bNativeObj){
+      animate(i);
+
+      // The shader never sees the exported vertices
+      modulateOnCpu();
+      writeObj(path);
+    }
+    else {
+      MeshExport output = (MeshExport) createGraphics(10, 10, "nervoussystem.obj.OBJExport", path);
+      output.beginDraw();
+      this.render(output, i);
+      output.endDraw();
+      output.dispose();
+    }
+  }
+
+  // Write the current vertices and faces straight to an .obj file
+  public void writeObj(String path){
+    IntList faces = new IntList();
+    faces(faces);
+
+    try {
+      ObjWriter writer = new ObjWriter(path);
+      try {
+        writer.write(vertices, faces, exportMatrix());
+      }
+      finally {
+        writer.close();
+      }
+    }
+    catch (IOException e){
+      throw new RuntimeException("Could not write " + path, e);
+    }
+  }
+
   public void exportMeshSequence(String fileName, int i){
+    exportSequence(fileName, i, null);
+  }
+
+  // Outputs the sequence as a single .smsq file, see MeshSequence.pde.
+  // The faces are written once, so every frame must have the same vertices as the first.
+  public void exportBinarySequence(String fileName, int i){
+    int frames = numFrames_Slider * numFramesMult + 1;
+
+    this.rebuild();
+    IntList faces = new IntList();
+    faces(faces);
+
+    try {
+      MeshSequenceWriter binary = new MeshSequenceWriter(fileName + ".smsq", vertices.count, faces, frames, bQuantiseSequence);
+      try {
+        exportSequence(fileName, i, binary);
+      }
+      finally {
+        binary.close();
+      }
+    }
+    catch (IOException e){
+      throw new RuntimeException("Could not write " + fileName + ".smsq", e);
+    }
+    println(fileName + ".smsq Export complete.");
+  }
+
+  // Export every frame of the loop as .obj files, or into the binary sequence if one is given
+  public void exportSequence(String fileName, int i, MeshSequenceWriter binary){
+
+    // Export every frame of the loop at once if nothing is carried between frames
+    if (bParallelExport && canExportInParallel() && canModulateInParallel(modulators[modulatorIndex])){
+      exportSequenceParallel(this, fileName, binary, i, numFrames_Slider * numFramesMult + 1);
+    }
+    else {
+      exportSequenceSerial(fileName, i, binary);
+    }
+  }
+
+  // Export frame 'len' of the sequence, having updated the shape to frame 'i' of the loop
+  public void exportSequenceFrame(String fileName, MeshSequenceWriter binary, int len, int i){
+    if (binary == null){
+      this.exportFrame(fileName + nf(len, 4) + ".obj", i);
+      return;
+    }
+
+    animate(i);
+    try {
+      binary.writeFrame(len, vertices, exportMatrix());
+    }
+    catch (IOException e){
+      throw new RuntimeException("Could not write frame " + len + " of " + fileName, e);
+    }
+  }
+
+  // Whether each frame can be built independently of the frames before it.
+  // In animation mode animate() changes the shape's values every frame, as does the Grey Scott simulation.
+  public boolean canExportInParallel(){
+    return !animated && !bReaction;
+  }
+
+  public void exportSequenceSerial(String fileName, int i, MeshSequenceWriter binary){
 
     // Outputs a sequence of .obj files for use in Blender.
+    exporting = true;
 
     // For the amount of frames specified with the numFrames slider;
     for (int len = 0; len <= numFrames_Slider * numFramesMult; len++){
       // Export a single obj named by its frame number, with 4 decimal places appended to aid import in Blender)
-      OBJExport output = (OBJExport) createGraphics(10, 10, "nervoussystem.obj.OBJExport", fileName + nf(len, 4) + ".obj");
-      output.beginDraw();
-      this.setup();
+      this.rebuild();
       this.update(i);
-      this.draw(output, i);
-      output.endDraw();
-      output.dispose();
+      this.exportSequenceFrame(fileName, binary, len, i);
       println("Exported " + " " + fileName + nf(len, 4));
 
       // Once a frame has been exported, advance the iterator and restart the loop.
       i++;
     }
+    exporting = false;
 
 }
 
@@ -147,6 +368,38 @@ public class Artifact{
   // HELPER FUNCTIONS //
   //////////////////////
 
+  // FACES
+  // Add the shape's triangles to the list as indices into the vertex buffer, three per triangle.
+  // Shapes drawn as points have no faces.
+  public void faces(IntList faces){
+  }
+
+  // Add the triangles of a triangle strip, swapping every other triangle so they all face the same way
+  public void addStrip(IntList faces, IntList strip){
+    for (int k = 0; k + 2 < strip.size(); k++){
+      if (k % 2 == 0){
+        faces.append(strip.get(k));
+        faces.append(strip.get(k + 1));
+      }
+      else {
+        faces.append(strip.get(k + 1));
+        faces.append(strip.get(k));
+      }
+      faces.append(strip.get(k + 2));
+    }
+  }
+
+  // The same transformations as pushTransform(), as a matrix
+  public PMatrix3D exportMatrix(){
+    PMatrix3D matrix = new PMatrix3D();
+    matrix.translate(position.x, position.y, position.z);
+    matrix.rotateX(rotation.x);
+    matrix.rotateY(rotation.y);
+    matrix.rotateZ(rotation.z);
+    matrix.scale(scale.x, scale.y, scale.z);
+    return matrix;
+  }
+
   public void pushTransform(PGraphics pg){
     // perform all transformations
     pg.pushMatrix();
@@ -162,24 +415,24 @@ public class Artifact{
       pg.popMatrix();
   }
 
-  // Push vertices to arraylist
+  // Push vertices to the vertex buffer
   // Version 1 - Single Vector
   public void pushVert(PVector v){
-    vertices.add(new Vert(v.x,v.y,v.z));
+    vertices.push(v.x, v.y, v.z);
   }
   // Version 2 - 3 floating point values
   public void pushVert(float x, float y, float z){
-    vertices.add(new Vert(x,y,z));
+    vertices.push(x, y, z);
   }
 
-  // Version 1b - Removing a single Vector
+  // Version 1b - Removing 3 floating point values
   public void popVert(float x, float y, float z){
-    vertices.remove(new Vert(x,y,z));
+    vertices.remove(x, y, z);
   }
 
-  // Version 2b - Removing 3 floating point values
+  // Version 2b - Removing a single Vector
   public void popVert(PVector v){
-    vertices.remove(new Vert(v.x,v.y,v.z));
+    vertices.remove(v.x, v.y, v.z);
   }
 
 
@@ -20,7 +20,7 @@ public class Barnsley extends Artifact{
 
   // SETUP
   public void setup(){
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
     PVector tempVec = new PVector(0,0,0);
 
     PVector temp = new PVector(0,0,0);
@@ -69,6 +69,16 @@ public class Barnsley extends Artifact{
     }
   }
 
+  // The fern is random, so it is grown again every frame, as it was before shapes were only rebuilt on change
+  public boolean isDirty(){
+    return true;
+  }
+
+  // The fern is random, so every copy of it would be different
+  public boolean canExportInParallel(){
+    return false;
+  }
+
   // DRAW
   public void draw(PGraphics pg, int it){
 
@@ -76,9 +86,8 @@ public class Barnsley extends Artifact{
 
     // Draw all vertices in the array as points
     pg.beginShape(POINTS);
-    for(int i = 0; i < vertices.size(); i++){
-      PVector p = vertices.get(i).position;
-      pg.vertex(p.x, p.y, p.z);
+    for(int i = 0; i < vertices.count; i++){
+      pg.vertex(vertices.x[i], vertices.y[i], vertices.z[i]);
 
     }
     pg.endShape();
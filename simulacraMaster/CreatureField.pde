@@ -0,0 +1,117 @@
+////////////////////
+// CREATURE FIELD //
+////////////////////
+
+// In creature mode, creatures crawl over the reaction diffusion and feed it wherever they are. This gives
+// the impression of them pressing down on the raised sections of the shape.
+//
+// Each creature follows its own path through 4D simplex noise, going round a circle in the last two
+// dimensions once every numFrames_Slider frames, so the creatures loop with the animation. The paths of
+// every creature are worked out once into a table. Each step looks up the frame's positions and feeds the
+// grid at all of them in one go, so the cost per step no longer includes any noise.
+// The table is rebuilt when numCreatures or the length of the loop changes.
+
+// PROPERTIES
+CreatureField creatureField = new CreatureField();
+
+class CreatureField{
+
+  // PROPERTIES
+  // How far each creature moves through the noise every frame, about the same as before the paths looped
+  final float speed = 0.0045;
+
+  // The position of every creature in every frame of the loop, from -1 to 1.
+  // The creatures of a frame are next to each other, creature i of frame f is at [f * count + i]
+  float[] pathX = new float[0];
+  float[] pathY = new float[0];
+  int count = -1, period = -1;
+
+  // Where in the noise each creature's path is
+  float[] seedX, seedY;
+
+  // The grid cell of each creature in the frame being fed
+  int[] cellX = new int[0];
+  int[] cellY = new int[0];
+
+  // Feed a gridW x gridH area of the grid with a w x h rectangle at each creature's position in frame 'it'
+  void feed(GreyScott gs, int it, int gridW, int gridH, int w, int h){
+    int loop = max(1, numFrames_Slider);
+    if (count != numCreatures || period != loop) build(numCreatures, loop);
+
+    int offset = (((it % period) + period) % period) * count;
+    for (int i = 0; i < count; i++){
+      cellX[i] = (int)((pathX[offset + i] + 1) * 0.5 * gridW);
+      cellY[i] = (int)((pathY[offset + i] + 1) * 0.5 * gridH);
+    }
+
+    gs.setRects(cellX, cellY, count, w, h);
+  }
+
+  // Work out the paths of 'count' creatures over 'period' frames, across all cores
+  void build(int count, int period){
+    this.count = count;
+    this.period = period;
+    pathX = new float[count * period];
+    pathY = new float[count * period];
+    cellX = new int[count];
+    cellY = new int[count];
+
+    // Every creature starts from a different part of the noise
+    seedX = new float[count];
+    seedY = new float[count];
+    for (int i = 0; i < count; i++){
+      seedX[i] = i * 0.4;
+      seedY[i] = i * 1.0;
+    }
+
+    updatePool.invoke(new CreaturePathTask(this, 0, period));
+  }
+
+  // Work out frames 'from' (inclusive) to 'to' (exclusive) of every path
+  void buildFrames(int from, int to){
+    float[] out = new float[count];
+
+    // The radius of the circle, so the creatures move 'speed' through the noise every frame
+    float radius = speed * period / TWO_PI;
+
+    for (int f = from; f < to; f++){
+      float angle = TWO_PI * f / period;
+      float z = radius * cos(angle);
+      float w = radius * sin(angle);
+
+      // The y path is taken from another part of the noise by moving z and w
+      simplexNoiseFloat.eval(seedX, seedY, 1, z, w, out, 0, count);
+      System.arraycopy(out, 0, pathX, f * count, count);
+      simplexNoiseFloat.eval(seedX, seedY, 1, z + 100, w + 100, out, 0, count);
+      System.arraycopy(out, 0, pathY, f * count, count);
+    }
+  }
+
+} // End of CreatureField class
+
+class CreaturePathTask extends RecursiveAction{
+
+  // PROPERTIES
+  final CreatureField field;
+  final int from, to;
+
+  // CONSTRUCTOR
+  CreaturePathTask(CreatureField field, int from, int to){
+    this.field = field;
+    this.from = from;
+    this.to = to;
+  }
+
+  protected void compute(){
+
+    // A few frames at a time, as each frame is every creature
+    if (to - from <= 4){
+      field.buildFrames(from, to);
+    }
+    else {
+      int mid = (from + to) >>> 1;
+      invokeAll(new CreaturePathTask(field, from, mid),
+                new CreaturePathTask(field, mid, to));
+    }
+  }
+} // End of CreaturePathTask class
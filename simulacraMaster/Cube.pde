@@ -23,7 +23,7 @@ public class Cube extends Artifact{
 
   // SETUP
   public void setup(){
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
 
     // Assign a width and depth
     w = cubeWidth;
@@ -50,6 +50,11 @@ public class Cube extends Artifact{
         }
   }
 
+  // TOPOLOGY
+  public float[] topologyParams(){
+    return new float[] { cubeWidth, cubeHeight, cubeDepth, cubeSpacing };
+  }
+
   public void draw(PGraphics pg, int it){
 
     pushTransform(pg);
@@ -57,9 +62,8 @@ public class Cube extends Artifact{
     // Draw all vertices in the array as points
     pg.beginShape(POINTS);
 
-    for(int j = 0; j < vertices.size(); j++){
-      PVector p = vertices.get(j).position;
-      pg.vertex(p.x, p.y, p.z);
+    for(int j = 0; j < vertices.count; j++){
+      pg.vertex(vertices.x[j], vertices.y[j], vertices.z[j]);
     }
 
     pg.endShape();
@@ -26,7 +26,7 @@ public class Flower extends Artifact{
 
   // SETUP
   public void setup(){
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
     PVector tempVec = new PVector(0, 0, 0);
 
     // Draw the flower
@@ -34,8 +34,14 @@ public class Flower extends Artifact{
 
   }
 
-  // DRAW
-  public void draw(PGraphics pg, int it){
+  // TOPOLOGY
+  // In animation mode the frequency, magnitude and independence are modulated every frame, which triggers a rebuild
+  public float[] topologyParams(){
+    return new float[] { flowerRadius, flowerFrequency, flowerMagnitude, flowerIndependence, flowerSpacing, flowerCount, flowerZ, flowerSamples };
+  }
+
+  // ANIMATE
+  public void animate(int it){
     // If in animation mode, animate the frequency, magnitude and independence of the flower using looping simplex noise.
     if (animated){
       float t = 1.0 * it / numFrames_Slider;
@@ -46,22 +52,37 @@ public class Flower extends Artifact{
       flowerIndependence = map2(ns, -1, 1, flowerIndMin, flowerIndMax, QUADRATIC, EASE_IN_OUT);
 
     }
+  }
+
+  // DRAW
+  public void draw(PGraphics pg, int it){
 
     pushTransform(pg);
     pg.beginShape(TRIANGLE_STRIP);
-      for (int j = 0; j < vertices.size()-flowerSamples; j++){
+      for (int j = 0; j < vertices.count-flowerSamples; j++){
         // Grab the first vertex in the array
-        PVector p1 = vertices.get(j).position;
+        int a = j;
         // And the corresponding vertex on the next circle
-        PVector p2 = vertices.get((j + flowerSamples)).position;
+        int b = j + flowerSamples;
         // Add them to the buffer
-        pg.vertex(p1.x, p1.y, p1.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
     pg.endShape();
     popTransform(pg);
   }
 
+  // FACES
+  // The same triangle strip as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for (int j = 0; j < vertices.count-flowerSamples; j++){
+      strip.append(j);
+      strip.append(j + flowerSamples);
+    }
+    addStrip(faces, strip);
+  }
+
   // Draws a deformed circle depending on GUI specified values
   void drawCircle(PVector v, float radius, float frequency, float magnitude, float seed, float s ){
 
@@ -0,0 +1,107 @@
+//////////////////
+// FRAME PARAMS //
+//////////////////
+
+// An immutable snapshot of the GUI values the modulators read, taken once per frame in Artifact.update().
+// The vertices are modulated across several threads, so the modulators read these values instead of
+// the sketch globals, which ControlP5 can change at any point during the frame.
+//
+// Anything that only depends on the frame, such as the point on the noise loop and the Brownian octave
+// tables, is also worked out here once rather than for every vertex.
+
+class FrameParams{
+
+  // The modulator selected in the GUI
+  final Modulator modulator;
+
+  // Noise stored from earlier loops, null when not caching
+  final LoopNoiseCache cache;
+
+  // Time
+  final int frame;
+  final int numFrames;
+
+  // Noise
+  final boolean floatNoise;
+  final float scale, radius;
+  final float mod1, mod2;
+
+  // Extrusion
+  final float xSlider, ySlider, zSlider;
+  final float xMin, xMax, yMin, yMax, zMin, zMax;
+  final boolean toggleX, toggleY, toggleZ;
+  final boolean animated;
+
+  // Brownian
+  final int numIterations;
+  final float amp, freq, persistence;
+
+  // Noise time
+  // t runs from 0 to 1 over the loop, nz and nw are the point on the circle in noise space at time t
+  final float t;
+  final float nz, nw;
+
+  // Brownian octaves
+  // The frequency and amplitude of each iteration, and the sum of the amplitudes
+  final float[] octaveFreq, octaveAmp;
+  final float maxAmp;
+
+  // CONSTRUCTOR
+  FrameParams(int frame){
+    this(frame, null);
+  }
+
+  FrameParams(int frame, LoopNoiseCache cache){
+    modulator = modulators[modulatorIndex];
+    this.cache = cache;
+
+    this.frame = frame;
+    numFrames = numFrames_Slider;
+
+    floatNoise = bFloatNoise;
+    scale = scale_Slider;
+    radius = radius_Slider;
+    mod1 = simulacraMaster.this.mod1;
+    mod2 = simulacraMaster.this.mod2;
+
+    xSlider = x_Slider;
+    ySlider = y_Slider;
+    zSlider = z_Slider;
+    xMin = simulacraMaster.this.xMin;
+    xMax = simulacraMaster.this.xMax;
+    yMin = simulacraMaster.this.yMin;
+    yMax = simulacraMaster.this.yMax;
+    zMin = simulacraMaster.this.zMin;
+    zMax = simulacraMaster.this.zMax;
+    toggleX = toggle_X;
+    toggleY = toggle_Y;
+    toggleZ = toggle_Z;
+    animated = simulacraMaster.this.animated;
+
+    numIterations = numIterations_Slider;
+    amp = amp_Slider;
+    freq = freq_Slider;
+    persistence = persistence_Slider;
+
+    // Draw a circle in noise space to enable the values to loop
+    t = 1.0 * frame / numFrames;
+    nz = radius * sin(TWO_PI * t);
+    nw = radius * cos(TWO_PI * t);
+
+    // Add successively smaller, higher-frequency terms
+    octaveFreq = new float[max(numIterations, 0)];
+    octaveAmp = new float[octaveFreq.length];
+    float a = amp;
+    float f = freq;
+    float sum = 0;
+    for (int i = 0; i < octaveFreq.length; i++){
+      octaveFreq[i] = f;
+      octaveAmp[i] = a;
+      sum += a;
+      a *= persistence;
+      f *= 2;
+    }
+    maxAmp = sum;
+  }
+
+} // End of FrameParams class
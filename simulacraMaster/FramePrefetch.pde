@@ -0,0 +1,118 @@
+////////////////////
+// FRAME PREFETCH //
+////////////////////
+
+// Decodes the images of an ImageSequence on a background thread, ahead of when they are shown, so
+// PNG decoding no longer stalls the animation thread.
+//
+// Images are decoded into reusable height field buffers. The decoder takes an empty buffer from 'free',
+// fills it with the next frame the sequence will ask for and hands it over through 'ready', so at most
+// prefetchFrames frames are ever decoded ahead. The sequence only swaps its current buffer for the ready
+// one. If the frame it needs hasn't been decoded (a miss), it decodes the frame itself and the decoder
+// restarts from the frame after it.
+
+// PROPERTIES
+// The number of frames decoded ahead of the one shown
+int prefetchFrames = 8;
+
+class DecodedFrame extends HeightField{
+
+  // PROPERTIES
+  // The frame of the sequence held, or -1 if the image couldn't be loaded
+  int frame = -1;
+
+  // Load the heights of an image into the buffer, reusing its array
+  void load(String path, int frame){
+    this.frame = load(path) ? frame : -1;
+  }
+} // End of DecodedFrame class
+
+class FramePrefetcher implements Runnable{
+
+  // PROPERTIES
+  final ImageSequence sequence;
+  final String sequenceName;
+
+  // Empty buffers waiting to be decoded into, and decoded frames in the order they will be shown
+  ArrayBlockingQueue<DecodedFrame> free, ready;
+
+  // The buffer the sequence is currently built from, only touched by the animation thread
+  DecodedFrame current = new DecodedFrame();
+
+  // The frame the decoder should jump to, or -1 to carry on in order
+  AtomicInteger restart = new AtomicInteger(0);
+
+  Thread thread;
+  volatile boolean running = true;
+
+  // How many frames were already decoded when asked for, and how many had to be decoded on the spot
+  int hits, misses;
+
+  // CONSTRUCTOR
+  FramePrefetcher(ImageSequence sequence, int frames){
+    this.sequence = sequence;
+    this.sequenceName = sequence.sequenceName;
+
+    free = new ArrayBlockingQueue<DecodedFrame>(frames + 1);
+    ready = new ArrayBlockingQueue<DecodedFrame>(frames + 1);
+    for (int k = 0; k < frames; k++) free.add(new DecodedFrame());
+
+    thread = new Thread(this, "ImageSequence prefetch");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  // Decode frames in the order the sequence shows them until stopped, waiting whenever every buffer is full
+  public void run(){
+    int next = 0;
+    try {
+      while (running){
+        DecodedFrame buffer = free.take();
+
+        int jump = restart.getAndSet(-1);
+        if (jump >= 0) next = jump;
+
+        buffer.load(sequence.framePath(next), next);
+        ready.put(buffer);
+
+        next = sequence.nextFrame(next);
+      }
+    }
+    catch (InterruptedException e){
+      // Stopped
+    }
+  }
+
+  // Return the decoded image for the given frame, which stays valid until the next call
+  DecodedFrame get(int frame){
+
+    // Frames decoded for any frames which were skipped are handed back
+    DecodedFrame decoded;
+    while ((decoded = ready.poll()) != null){
+      if (decoded.frame == frame){
+        free.offer(current);
+        current = decoded;
+        hits++;
+        return current;
+      }
+      free.offer(decoded);
+    }
+
+    // Not decoded yet, decode it here and have the decoder carry on from the frame after
+    misses++;
+    current.load(sequence.framePath(frame), frame);
+    restart.set(sequence.nextFrame(frame));
+    return current;
+  }
+
+  void stop(){
+    running = false;
+    thread.interrupt();
+  }
+
+  String stats(){
+    int total = max(1, hits + misses);
+    return "Prefetch " + sequenceName + ": " + hits + " hits, " + misses + " misses (" + nf(100.0 * hits / total, 0, 1) + "% hit rate)";
+  }
+
+} // End of FramePrefetcher class
@@ -0,0 +1,196 @@
+////////////////////
+// FRAME PROFILER //
+////////////////////
+
+// Times each phase of draw() with System.nanoTime(), to find which one is responsible when a frame
+// stutters. The overlay shows the 50th, 95th and 99th percentile of each phase over the last few seconds,
+// and each frame can also be written as a row of profile.csv.
+//
+// Phases may be nested, such as the Grey Scott iterations inside animate(). Each phase is timed without
+// the phases inside it, so the phases of a frame add up to its total. Only the animation thread is
+// timed, phases begun on export threads are ignored.
+//
+// The exception is the Grey Scott simulation when it runs on its own thread. Its steps since the last
+// frame are recorded as the greyScott phase, but as they ran alongside the frame they aren't in the total.
+//
+// The CSV also records the bytes allocated by the animation thread during the frame, where the JVM
+// supports measuring it.
+
+// PROPERTIES
+// Enable to time each frame and show the overlay
+boolean bProfiler = false;
+
+// Enable to also write every frame to profile.csv
+boolean bProfilerCsv = false;
+
+// Phases
+final int PHASE_REBUILD = 0;
+final int PHASE_UPDATE = 1;
+final int PHASE_GREY_SCOTT = 2;
+final int PHASE_DRAW = 3;
+final int PHASE_GUI = 4;
+final String[] PHASE_NAMES = {"rebuild", "update", "greyScott", "draw", "gui"};
+
+FrameProfiler profiler = new FrameProfiler();
+
+class FrameProfiler{
+
+  // PROPERTIES
+  // The number of frames the percentiles are taken over
+  final int history = 240;
+
+  // The time of each phase, and the whole frame, for the last 'history' frames in nanoseconds
+  long[][] phaseTimes = new long[PHASE_NAMES.length][history];
+  long[] frameTimes = new long[history];
+  int frames = 0;
+
+  // This frame
+  Thread frameThread;
+  boolean inFrame = false;
+  long frameStart, frameAllocated;
+  long[] current = new long[PHASE_NAMES.length];
+
+  // The phases currently open, innermost last
+  int[] stack = new int[16];
+  long[] stackStart = new long[16];
+  int depth = 0;
+
+  // Allocation counting, null if not supported
+  com.sun.management.ThreadMXBean threads;
+
+  // Output
+  PrintWriter csv;
+
+  // Percentiles shown in the overlay, worked out every few frames. [phase][p50, p95, p99], the total last.
+  float[][] percentiles = new float[PHASE_NAMES.length + 1][3];
+  long[] sorted = new long[history];
+
+  // CONSTRUCTOR
+  FrameProfiler(){
+    java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean){
+      threads = (com.sun.management.ThreadMXBean)bean;
+      if (!threads.isThreadAllocatedMemorySupported()) threads = null;
+      else threads.setThreadAllocatedMemoryEnabled(true);
+    }
+  }
+
+  void beginFrame(){
+    if (!bProfiler){
+      closeCsv();
+      return;
+    }
+
+    frameThread = Thread.currentThread();
+    inFrame = true;
+    depth = 0;
+    for (int i = 0; i < current.length; i++) current[i] = 0;
+    frameAllocated = allocatedBytes();
+    frameStart = System.nanoTime();
+  }
+
+  void begin(int phase){
+    if (!inFrame || Thread.currentThread() != frameThread || depth == stack.length) return;
+
+    long now = System.nanoTime();
+
+    // Pause the phase this one is inside of
+    if (depth > 0) current[stack[depth - 1]] += now - stackStart[depth - 1];
+
+    stack[depth] = phase;
+    stackStart[depth] = now;
+    depth++;
+  }
+
+  void end(){
+    if (!inFrame || Thread.currentThread() != frameThread || depth == 0) return;
+
+    long now = System.nanoTime();
+    depth--;
+    current[stack[depth]] += now - stackStart[depth];
+
+    // Resume the phase this one was inside of
+    if (depth > 0) stackStart[depth - 1] = now;
+  }
+
+  // Add time spent on another thread since the last frame to a phase, without adding it to the total
+  void record(int phase, long nanos){
+    if (!inFrame || Thread.currentThread() != frameThread) return;
+    current[phase] += nanos;
+  }
+
+  void endFrame(){
+    if (!inFrame) return;
+    inFrame = false;
+
+    long total = System.nanoTime() - frameStart;
+    long allocated = allocatedBytes() - frameAllocated;
+
+    int slot = frames % history;
+    for (int i = 0; i < current.length; i++) phaseTimes[i][slot] = current[i];
+    frameTimes[slot] = total;
+    frames++;
+
+    if (frames % 10 == 0) updatePercentiles();
+    if (bProfilerCsv) writeCsv(total, allocated);
+    else closeCsv();
+  }
+
+  long allocatedBytes(){
+    if (threads == null) return 0;
+    return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  void updatePercentiles(){
+    int count = min(frames, history);
+    for (int i = 0; i < PHASE_NAMES.length; i++) percentiles(phaseTimes[i], count, percentiles[i]);
+    percentiles(frameTimes, count, percentiles[PHASE_NAMES.length]);
+  }
+
+  // The 50th, 95th and 99th percentile of the first 'count' times, in milliseconds
+  void percentiles(long[] times, int count, float[] out){
+    System.arraycopy(times, 0, sorted, 0, count);
+    Arrays.sort(sorted, 0, count);
+    out[0] = sorted[(count - 1) * 50 / 100] / 1000000.0;
+    out[1] = sorted[(count - 1) * 95 / 100] / 1000000.0;
+    out[2] = sorted[(count - 1) * 99 / 100] / 1000000.0;
+  }
+
+  // One line of the overlay, e.g. "update     4.1   6.0   9.3"
+  String line(int row){
+    String name = row < PHASE_NAMES.length ? PHASE_NAMES[row] : "total";
+    float[] p = percentiles[row];
+    return pad(name, 10) + pad(nf(p[0], 0, 1), 6) + pad(nf(p[1], 0, 1), 6) + pad(nf(p[2], 0, 1), 6);
+  }
+
+  String pad(String s, int len){
+    while (s.length() < len) s += " ";
+    return s;
+  }
+
+  void writeCsv(long total, long allocated){
+    if (csv == null){
+      csv = createWriter("profile.csv");
+      String header = "frame,total_ms";
+      for (int i = 0; i < PHASE_NAMES.length; i++) header += "," + PHASE_NAMES[i] + "_ms";
+      csv.println(header + ",allocated_kb");
+    }
+
+    StringBuilder row = new StringBuilder();
+    row.append(frameCount).append(',').append(total / 1000000.0);
+    for (int i = 0; i < current.length; i++) row.append(',').append(current[i] / 1000000.0);
+    row.append(',').append(allocated / 1024);
+    csv.println(row);
+
+    // Flush once a second or so, so the file is useful even if the sketch is closed abruptly
+    if (frames % 60 == 0) csv.flush();
+  }
+
+  void closeCsv(){
+    if (csv == null) return;
+    csv.flush();
+    csv.close();
+    csv = null;
+  }
+
+} // End of FrameProfiler class
@@ -6,7 +6,7 @@
 String saveLocation;
 String notification = " ";
 int stroke_Weight, stroke_Colour;
-Textlabel fpsLbl, noiseLbl, toggleNoiseLbl, extrudeLbl, toggleExtLbl, styleLbl, transformLbl, shapeLbl, mouseXLbl, mouseYLbl, verticesLbl, notificationLbl;
+Textlabel fpsLbl, noiseLbl, toggleNoiseLbl, extrudeLbl, toggleExtLbl, styleLbl, transformLbl, shapeLbl, mouseXLbl, mouseYLbl, verticesLbl, notificationLbl, profilerLbl;
 boolean toggle_axis = false, toggle_grid = false, auto_update = true;
 
 // GUI positioning variables
@@ -82,6 +82,9 @@ class GUI{
     notificationLbl = cp5.addTextlabel("noticationLbl").setPosition(initPosX,(infoPosY+=infoBuffer)).setSize(128,16).setColorValue(orange);
     pop();
 
+    // Frame profiler percentiles, one line per phase
+    profilerLbl = new Textlabel(cp5,"PROFILE",300,10,256,128);
+
     // Helper toggles
     int helperPosY = 100;
     cp5.addToggle("auto_update").setLabel("U/D").setPosition(initPosX,helperPosY).setSize(toggleRes,toggleRes);
@@ -89,6 +92,12 @@ class GUI{
     cp5.addToggle("toggle_axis").setLabel("AXIS").setPosition(initPosX+60,helperPosY).setSize(toggleRes,toggleRes);
     cp5.addToggle("toggle_Lights").setLabel("LIGHT").setPosition(initPosX+90,helperPosY).setSize(toggleRes,toggleRes);
     cp5.addToggle("toggle_Wireframe").setLabel("WIRE").setPosition(initPosX+120,helperPosY).setSize(toggleRes,toggleRes);
+    cp5.addToggle("bFloatNoise").setLabel("F32").setPosition(initPosX+150,helperPosY).setSize(toggleRes,toggleRes);
+    cp5.addToggle("bLoopCache").setLabel("CACHE").setPosition(initPosX+180,helperPosY).setSize(toggleRes,toggleRes);
+    cp5.addToggle("bRetained").setLabel("GPU").setPosition(initPosX+210,helperPosY).setSize(toggleRes,toggleRes);
+    cp5.addToggle("bGpuModulation").setLabel("GLSL").setPosition(initPosX+240,helperPosY).setSize(toggleRes,toggleRes);
+    cp5.addToggle("bProfiler").setLabel("PROF").setPosition(initPosX+270,helperPosY).setSize(toggleRes,toggleRes);
+    cp5.addToggle("bProfilerCsv").setLabel("CSV").setPosition(initPosX+300,helperPosY).setSize(toggleRes,toggleRes);
 
     // Styling sliders
     int stylePosY = 140;
@@ -100,6 +109,8 @@ class GUI{
     cp5.addButton("recreate").setPosition(initPosX,650).setSize(buttonWidth,buttonHeight).setLabel("RECREATE");
     cp5.addButton("exportMesh").setPosition(initPosX,670).setSize(buttonWidth,buttonHeight).setLabel("EXPORTMESH");
     cp5.addButton("exportMeshSequence").setPosition(initPosX,690).setSize(buttonWidth,buttonHeight).setLabel("SEQUENCE");
+    cp5.addButton("exportBinarySequence").setPosition(initPosX+buttonWidth+5,690).setSize(buttonWidth-20,buttonHeight).setLabel("SMSQ");
+    cp5.addToggle("bQuantiseSequence").setLabel("Q16").setPosition(initPosX+2*buttonWidth-10,690).setSize(toggleRes,toggleRes);
     cp5.addButton("saveSettings").setPosition(1080,690).setSize(buttonWidth-20,buttonHeight).setLabel("SAVE");
     cp5.addButton("loadSettings").setPosition(1080+(50),690).setSize(buttonWidth-20,buttonHeight).setLabel("LOAD");
 
@@ -250,6 +261,10 @@ class GUI{
     cp5.addToggle("sine").setPosition(noiseInitPosX+(toggleRes*4),noiseInitPosY).setSize(toggleRes,toggleRes).setLabel("SIN");
     cp5.addToggle("bReaction").setPosition(noiseInitPosX+(toggleRes*6),noiseInitPosY).setSize(toggleRes,toggleRes).setLabel("GREY SCOTT");
 
+    // Modulator selection, added last so the open list is drawn over the other controls
+    cp5.addScrollableList("modulator").setPosition(160,10).setSize(sliderWidth,200).setBarHeight(16).setItemHeight(16)
+       .addItems(modulatorNames()).setValue(modulatorIndex).setType(ScrollableList.DROPDOWN).close().setLabel("modulator");
+
     // END init()
   }
 
@@ -289,6 +304,14 @@ class GUI{
     notificationLbl.setValueLabel(notification);
     notificationLbl.draw(p);
 
+    // Frame profiler, in milliseconds
+    if (bProfiler){
+      String profile = "PHASE     P50   P95   P99";
+      for (int i = 0; i <= PHASE_NAMES.length; i++) profile += "\n" + profiler.line(i);
+      profilerLbl.setValueLabel(profile);
+      profilerLbl.draw(p);
+    }
+
     // Title labels
     extrudeLbl.draw(p);
     toggleExtLbl.draw(p);
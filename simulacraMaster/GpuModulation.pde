@@ -0,0 +1,53 @@
+////////////////////
+// GPU MODULATION //
+////////////////////
+
+// While previewing, the simplex modulator can run in a vertex shader instead of on the CPU. The retained
+// mesh uploads the shape's initial positions once, and data/shaders/simplex.vert displaces them every frame
+// with a port of the same 4D OpenSimplex noise, driven by the frame's FrameParams.
+//
+// Exports always modulate on the CPU, so OBJ files are unchanged by this setting. Whenever the retained
+// mesh can't draw the shape (wireframe, points, other renderers) the CPU modulates it as usual.
+
+// PROPERTIES
+// Enable to evaluate the simplex modulator on the GPU while previewing
+boolean bGpuModulation = false;
+
+// Loaded the first time it is used
+PShader simplexShader;
+
+// The shader, with the noise tables of simplexNoise
+PShader simplexShader(){
+  if (simplexShader == null){
+    simplexShader = loadShader("shaders/retained.frag", "shaders/simplex.vert");
+
+    short[] perm = simplexNoise.getPerm();
+    float[] permTable = new float[256];
+    for (int i = 0; i < 256; i++) permTable[i] = perm[i];
+    simplexShader.set("perm", permTable, 4);
+
+    byte[] gradients = OpenSimplexNoise.getGradients4D();
+    float[] gradientTable = new float[gradients.length];
+    for (int i = 0; i < gradients.length; i++) gradientTable[i] = gradients[i];
+    simplexShader.set("gradients", gradientTable, 4);
+  }
+  return simplexShader;
+}
+
+// Whether the shader can do the work of this frame's modulator
+boolean gpuModulates(FrameParams p){
+  return p.modulator instanceof SimplexMod;
+}
+
+// Send the frame's values to the shader
+void setModulationUniforms(PShader shader, FrameParams p){
+  shader.set("noiseScale", p.scale);
+  shader.set("noiseZ", p.nz);
+  shader.set("noiseW", p.nw);
+
+  shader.set("animated", p.animated ? 1.0 : 0.0);
+  shader.set("axes", p.toggleX ? 1.0 : 0.0, p.toggleY ? 1.0 : 0.0, p.toggleZ ? 1.0 : 0.0);
+  shader.set("extrusion", p.xSlider, p.ySlider, p.zSlider);
+  shader.set("rangeMin", p.xMin, p.yMin, p.zMin);
+  shader.set("rangeMax", p.xMax, p.yMax, p.zMax);
+}
@@ -0,0 +1,378 @@
+/*
+ * Grey Scott reaction diffusion.
+ *
+ * Replaces toxiclibs' GrayScott with the same methods and the same results
+ * (the calculation for each cell is written in the same order), but:
+ * - The two chemicals are double buffered, each iteration reads u and v and
+ *   writes the next state, then the arrays are swapped instead of copied.
+ *   u and v always hold the latest state, so they must be read through the
+ *   fields rather than kept, as they change every iteration.
+ * - Rows are split into bands, one per thread, and update(t, iterations)
+ *   runs every iteration on all of them, waiting on a CyclicBarrier between
+ *   iterations as each band reads its neighbours' edge rows.
+ * - The wrapped neighbour rows are looked up once per row, so the loop over
+ *   the inside of each row has no branches or calls and can be vectorised by
+ *   the JIT. Only the first and last cell of each row are wrapped by hand.
+ * - Optionally each band is stepped in tiles of rows, advancing a tile
+ *   several iterations at a time before moving on to the next, so the rows
+ *   being worked on stay in cache instead of the whole grid being read from
+ *   memory every iteration. This costs some extra work at the edges of each
+ *   tile, so whether it is faster depends on the machine and grid size, see
+ *   setBlocking(), stepTile() and HeadlessExport --benchmark.
+ *
+ * Without wrapping the cells on the edge are held at their current values.
+ */
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+public class GreyScott {
+
+	// Rows each thread should have at least, below this the barrier costs more than it saves
+	private static final int MIN_BAND_ROWS = 32;
+
+	// Tile size and number of iterations per tile used by setBlocking(true)
+	public static final int TILE_ROWS = 64;
+	public static final int TILE_DEPTH = 4;
+
+	// The latest state of each chemical
+	public float[] u, v;
+
+	// The state being written by the current iteration
+	private float[] nextU, nextV;
+
+	private final int width, height;
+	private final boolean wrap;
+	private float f, k, dU, dV;
+
+	// Threads
+	private final int bands;
+	private final int[] bandStart;
+	private CyclicBarrier start, step;
+	private Thread[] workers;
+	private volatile float t;
+	private volatile int iterations;
+	private volatile boolean stopped;
+
+	// Temporal blocking, and two rows x (tileRows + 2 * depth) grids for each band to step tiles in
+	private int tileRows, depth;
+	private float[][][] scratch;
+
+	public GreyScott(int width, int height, boolean wrap) {
+		this(width, height, wrap, Runtime.getRuntime().availableProcessors());
+	}
+
+	public GreyScott(int width, int height, boolean wrap, int threads) {
+		this.width = width;
+		this.height = height;
+		this.wrap = wrap;
+
+		u = new float[width * height];
+		v = new float[width * height];
+		nextU = new float[width * height];
+		nextV = new float[width * height];
+		reset();
+
+		// Same defaults as toxiclibs
+		setCoefficients(0.023f, 0.077f, 0.16f, 0.08f);
+
+		bands = Math.max(1, Math.min(threads, height / MIN_BAND_ROWS));
+		bandStart = new int[bands + 1];
+		for (int i = 0; i <= bands; i++) bandStart[i] = height * i / bands;
+
+		setBlocking(false);
+		if (bands > 1) startWorkers();
+	}
+
+	// Step the grid in tiles, or sweep the whole grid each iteration
+	public void setBlocking(boolean tiles) {
+		if (tiles) setBlocking(TILE_ROWS, TILE_DEPTH);
+		else setBlocking(1, 1);
+	}
+
+	// Step the grid in tiles of 'rows' rows, each advanced up to 'depth' iterations at a time.
+	// A depth of 1 sweeps the whole grid once per iteration. The results are the same either way.
+	// Must not be called during update().
+	public void setBlocking(int rows, int depth) {
+		tileRows = Math.max(1, rows);
+		this.depth = Math.max(1, depth);
+
+		scratch = new float[bands][][];
+		if (this.depth == 1) return;
+
+		int size = (tileRows + 2 * this.depth) * width;
+		for (int i = 0; i < bands; i++) {
+			scratch[i] = new float[][] {new float[size], new float[size], new float[size], new float[size]};
+		}
+	}
+
+	public int getTileRows() { return tileRows; }
+	public int getDepth() { return depth; }
+
+	public void setCoefficients(float f, float k, float dU, float dV) {
+		this.f = f;
+		this.k = k;
+		this.dU = dU;
+		this.dV = dV;
+	}
+
+	public float getF() { return f; }
+	public float getK() { return k; }
+	public float getDU() { return dU; }
+	public float getDV() { return dV; }
+	public void setF(float f) { this.f = f; }
+	public void setK(float k) { this.k = k; }
+	public void setDU(float dU) { this.dU = dU; }
+	public void setDV(float dV) { this.dV = dV; }
+	public int getWidth() { return width; }
+	public int getHeight() { return height; }
+
+	public float getCurrentUValue(int x, int y) { return u[y * width + x]; }
+	public float getCurrentVValue(int x, int y) { return v[y * width + x]; }
+
+	public void reset() {
+		java.util.Arrays.fill(u, 1.0f);
+		java.util.Arrays.fill(v, 0.0f);
+	}
+
+	// Seed a w x h rectangle centred on x, y
+	public void setRect(int x, int y, int w, int h) {
+		int minX = clip(x - w / 2, 0, width);
+		int maxX = clip(x + w / 2, 0, width);
+		int minY = clip(y - h / 2, 0, height);
+		int maxY = clip(y + h / 2, 0, height);
+		for (int yy = minY; yy < maxY; yy++) {
+			for (int xx = minX; xx < maxX; xx++) seed(yy * width + xx);
+		}
+	}
+
+	// Seed a w x h rectangle centred on each of the first 'count' points, the same as calling setRect() for each
+	public void setRects(int[] xs, int[] ys, int count, int w, int h) {
+		int hw = w / 2, hh = h / 2;
+		for (int i = 0; i < count; i++) {
+			int minX = clip(xs[i] - hw, 0, width);
+			int maxX = clip(xs[i] + hw, 0, width);
+			int minY = clip(ys[i] - hh, 0, height);
+			int maxY = clip(ys[i] + hh, 0, height);
+			for (int y = minY; y < maxY; y++) {
+				int row = y * width;
+				for (int x = minX; x < maxX; x++) seed(row + x);
+			}
+		}
+	}
+
+	// Seed every pixel with a non zero blue channel, with the image centred on the grid
+	public void seedImage(int[] pixels, int imgWidth, int imgHeight) {
+		int xo = clip((width - imgWidth) / 2, 0, width - 1);
+		int yo = clip((height - imgHeight) / 2, 0, height - 1);
+		int w = Math.min(imgWidth, width);
+		int h = Math.min(imgHeight, height);
+		for (int y = 0; y < h; y++) {
+			for (int x = 0; x < w; x++) {
+				if ((pixels[y * imgWidth + x] & 0xff) > 0) seed((yo + y) * width + xo + x);
+			}
+		}
+	}
+
+	private void seed(int i) {
+		u[i] = 0.5f;
+		v[i] = 0.25f;
+	}
+
+	public void update(float t) {
+		update(t, 1);
+	}
+
+	// Run a number of iterations, split across the threads
+	public void update(float t, int iterations) {
+		if (iterations <= 0) return;
+		t = Math.max(0, Math.min(t, 1));
+
+		if (bands == 1) {
+			for (int i = 0; i < iterations; i += depth) {
+				stepBand(t, 0, Math.min(depth, iterations - i));
+				swap();
+			}
+			return;
+		}
+
+		this.t = t;
+		this.iterations = iterations;
+		await(start);
+		runBand(0, t, iterations);
+	}
+
+	// Stop the threads, update() can't be called afterwards
+	public void dispose() {
+		if (workers == null) return;
+		stopped = true;
+		for (Thread worker : workers) worker.interrupt();
+		workers = null;
+	}
+
+	private void startWorkers() {
+		start = new CyclicBarrier(bands);
+		step = new CyclicBarrier(bands, new Runnable() {
+			public void run() {
+				swap();
+			}
+		});
+
+		// The calling thread runs the first band itself
+		workers = new Thread[bands - 1];
+		for (int i = 1; i < bands; i++) {
+			final int band = i;
+			Thread worker = new Thread(new Runnable() {
+				public void run() {
+					while (!stopped) {
+						if (!await(start)) return;
+
+						// Read once, the next update() may change them as soon as the last iteration is done
+						runBand(band, t, iterations);
+					}
+				}
+			}, "GreyScott band " + i);
+			worker.setDaemon(true);
+			worker.start();
+			workers[i - 1] = worker;
+		}
+	}
+
+	private void runBand(int band, float t, int iterations) {
+		for (int i = 0; i < iterations; i += depth) {
+			stepBand(t, band, Math.min(depth, iterations - i));
+			if (!await(step)) return;
+		}
+	}
+
+	private boolean await(CyclicBarrier barrier) {
+		try {
+			barrier.await();
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		catch (BrokenBarrierException e) {
+			return false;
+		}
+	}
+
+	private void swap() {
+		float[] tmp = u;
+		u = nextU;
+		nextU = tmp;
+
+		tmp = v;
+		v = nextV;
+		nextV = tmp;
+	}
+
+	// Advance a band 'iterations' iterations, from u and v to nextU and nextV, a tile at a time
+	private void stepBand(float t, int band, int iterations) {
+		int to = bandStart[band + 1];
+		int rows = iterations == 1 ? to - bandStart[band] : tileRows;
+		for (int y = bandStart[band]; y < to; y += rows) {
+			stepTile(t, scratch[band], y, Math.min(y + rows, to), iterations);
+		}
+	}
+
+	// Advance rows y0 (inclusive) to y1 (exclusive) 'iterations' iterations.
+	// An iteration can only be worked out for rows whose neighbours are known, so the tile is grown by
+	// 'iterations' rows above and below, and each iteration works out one row fewer at each end until
+	// only the tile's own rows are left. The first iteration reads u and v, the ones in between go back
+	// and forth between the scratch grids, and the last one writes nextU and nextV.
+	private void stepTile(float t, float[][] scratch, int y0, int y1, int iterations) {
+		final int w = width;
+
+		// Without wrapping the first and last rows are fixed, so there is no need to grow past them
+		int base = y0 - iterations;
+		int end = y1 + iterations;
+		boolean fixedTop = !wrap && base <= 0;
+		boolean fixedBottom = !wrap && end >= height;
+		if (fixedTop) base = 0;
+		if (fixedBottom) end = height;
+		int rows = end - base;
+
+		float[] srcU = u, srcV = v;
+		for (int i = 1; i <= iterations; i++) {
+			boolean first = i == 1;
+			boolean last = i == iterations;
+
+			int from = last ? y0 - base : (fixedTop ? 0 : i);
+			int to = last ? y1 - base : (fixedBottom ? rows : rows - i);
+			float[] dstU = last ? nextU : scratch[(i & 1) * 2];
+			float[] dstV = last ? nextV : scratch[(i & 1) * 2 + 1];
+
+			for (int r = from; r < to; r++) {
+				int y = wrapRow(base + r);
+				boolean fixed = !wrap && (y == 0 || y == height - 1);
+
+				// Rows of the grid for the first iteration, otherwise of the scratch grid
+				int src = first ? y * w : r * w;
+				int up = first ? wrapRow(y - 1) * w : src - w;
+				int down = first ? wrapRow(y + 1) * w : src + w;
+
+				stepRow(t, srcU, srcV, dstU, dstV, src, up, down, last ? y * w : r * w, fixed);
+			}
+
+			srcU = dstU;
+			srcV = dstV;
+		}
+	}
+
+	// Write the next state of the row starting at 'src' in u, v to the row starting at 'dst' in nu, nv
+	private void stepRow(float t, float[] u, float[] v, float[] nu, float[] nv, int src, int up, int down, int dst, boolean fixed) {
+		final int w = width, w1 = width - 1;
+		final float f = this.f, k = this.k, dU = this.dU, dV = this.dV;
+
+		if (fixed) {
+			System.arraycopy(u, src, nu, dst, w);
+			System.arraycopy(v, src, nv, dst, w);
+			return;
+		}
+
+		// Inside of the row
+		for (int x = 1; x < w1; x++) {
+			int i = src + x;
+			float cu = u[i];
+			float cv = v[i];
+			float d = cu * cv * cv;
+			float su = cu + t * ((dU * ((u[i + 1] + u[i - 1] + u[down + x] + u[up + x]) - 4 * cu) - d) + f * (1.0f - cu));
+			float sv = cv + t * ((dV * ((v[i + 1] + v[i - 1] + v[down + x] + v[up + x]) - 4 * cv) + d) - k * cv);
+			nu[dst + x] = su > 0 ? su : 0;
+			nv[dst + x] = sv > 0 ? sv : 0;
+		}
+
+		// First and last cells, wrapped around to the other side
+		if (wrap) {
+			cell(t, u, v, nu, nv, src, src + 1, src + w1, down, up, dst);
+			cell(t, u, v, nu, nv, src + w1, src, src + w1 - 1, down + w1, up + w1, dst + w1);
+		}
+		else {
+			nu[dst] = u[src];
+			nv[dst] = v[src];
+			nu[dst + w1] = u[src + w1];
+			nv[dst + w1] = v[src + w1];
+		}
+	}
+
+	private void cell(float t, float[] u, float[] v, float[] nu, float[] nv, int i, int right, int left, int down, int up, int dst) {
+		float cu = u[i];
+		float cv = v[i];
+		float d = cu * cv * cv;
+		float su = cu + t * ((dU * ((u[right] + u[left] + u[down] + u[up]) - 4 * cu) - d) + f * (1.0f - cu));
+		float sv = cv + t * ((dV * ((v[right] + v[left] + v[down] + v[up]) - 4 * cv) + d) - k * cv);
+		nu[dst] = su > 0 ? su : 0;
+		nv[dst] = sv > 0 ? sv : 0;
+	}
+
+	private int wrapRow(int y) {
+		return ((y % height) + height) % height;
+	}
+
+	private static int clip(int a, int min, int max) {
+		return a < min ? min : (a > max ? max : a);
+	}
+}
@@ -0,0 +1,139 @@
+////////////////////////////
+// GREY SCOTT CHECKPOINTS //
+////////////////////////////
+
+// Saves the state of the Grey Scott simulation, so a developed pattern can be picked up again instead of
+// growing it from a reset, which can take thousands of iterations.
+//
+// There are three slots, saved and loaded with shift and the camera keys: 'A', 'S' and 'D' save slots 1-3
+// and 'F', 'G' and 'H' load them. The slot last saved or loaded is the one exports start from, so a
+// sequence starts from the developed pattern instead of a cleared grid. 'r' goes back to exporting from a
+// cleared grid.
+//
+// Slots are kept in the checkpoints folder as .gsck files, which are written and read through a memory
+// mapping. The file is little-endian;
+//   'GSCK', version, width, height    4 x int32
+//   f, k, dU, dV                      4 x float32
+//   steps                             int64, the steps the simulation had taken
+//   u, v                              width x height float32 each, row by row
+
+// PROPERTIES
+// The slot exports start from, 0 to start from a cleared grid
+int gsExportSlot = 0;
+
+// 'GSCK' read as a little-endian int
+final int GSCK_MAGIC = 0x4B435347;
+final int GSCK_VERSION = 1;
+final int GSCK_HEADER_BYTES = 40;
+
+// The file of a slot
+String greyScottSlotPath(int slot){
+  return "checkpoints/greyScott" + slot + ".gsck";
+}
+
+// Write the current state of the simulation to a checkpoint
+void saveGreyScott(String path) throws IOException{
+  File file = new File(savePath(path));
+  int cells = gs.getWidth() * gs.getHeight();
+  long size = GSCK_HEADER_BYTES + (long)cells * 8;
+
+  RandomAccessFile out = new RandomAccessFile(file, "rw");
+  try {
+    // Only resized if it has to be. A mapping from an earlier load is only released when it is garbage
+    // collected, and on Windows a file can't be resized while it is mapped.
+    if (out.length() != size) out.setLength(size);
+    ByteBuffer data = out.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+
+    // Copied while the simulation is between steps
+    synchronized (gs){
+      data.putInt(GSCK_MAGIC);
+      data.putInt(GSCK_VERSION);
+      data.putInt(gs.getWidth());
+      data.putInt(gs.getHeight());
+      data.putFloat(gs.getF());
+      data.putFloat(gs.getK());
+      data.putFloat(gs.getDU());
+      data.putFloat(gs.getDV());
+      data.putLong(gsSim.steps);
+
+      FloatBuffer grid = data.asFloatBuffer();
+      grid.put(gs.u, 0, cells);
+      grid.put(gs.v, 0, cells);
+    }
+  }
+  finally {
+    out.close();
+  }
+}
+
+// Replace the state of the simulation with a checkpoint's
+void loadGreyScott(String path) throws IOException{
+  File file = new File(savePath(path));
+  if (!file.exists()) throw new FileNotFoundException(path + " doesn't exist");
+
+  ByteBuffer data;
+  FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+  try {
+    data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+  }
+  finally {
+    channel.close();
+  }
+
+  if (data.capacity() < GSCK_HEADER_BYTES || data.getInt(0) != GSCK_MAGIC){
+    throw new IOException(path + " is not a Grey Scott checkpoint");
+  }
+  if (data.getInt(4) != GSCK_VERSION){
+    throw new IOException(path + " is version " + data.getInt(4) + ", expected " + GSCK_VERSION);
+  }
+
+  int w = data.getInt(8);
+  int h = data.getInt(12);
+  if (w != gs.getWidth() || h != gs.getHeight()){
+    throw new IOException(path + " is " + w + "x" + h + ", the simulation is " + gs.getWidth() + "x" + gs.getHeight());
+  }
+  if (data.capacity() != GSCK_HEADER_BYTES + (long)w * h * 8) throw new IOException(path + " is the wrong size");
+
+  data.position(GSCK_HEADER_BYTES);
+  gsSim.restore(data.asFloatBuffer(), data.getFloat(16), data.getFloat(20), data.getFloat(24), data.getFloat(28), data.getLong(32));
+}
+
+// Save a slot, which exports will then start from
+void saveGreyScottSlot(int slot){
+  try {
+    saveGreyScott(greyScottSlotPath(slot));
+    gsExportSlot = slot;
+    notification = "GREY SCOTT " + slot + " SAVED.";
+  }
+  catch (IOException e){
+    println("Could not save " + greyScottSlotPath(slot) + ": " + e.getMessage());
+    notification = "GREY SCOTT " + slot + " NOT SAVED.";
+  }
+}
+
+// Load a slot, which exports will then start from
+void loadGreyScottSlot(int slot){
+  try {
+    loadGreyScott(greyScottSlotPath(slot));
+    gsExportSlot = slot;
+    notification = "GREY SCOTT " + slot + " LOADED.";
+  }
+  catch (IOException e){
+    println("Could not load " + greyScottSlotPath(slot) + ": " + e.getMessage());
+    notification = "GREY SCOTT " + slot + " NOT LOADED.";
+  }
+}
+
+// Set the simulation up for an export, from the export slot or a cleared grid
+void startGreyScottExport(){
+  if (gsExportSlot > 0){
+    try {
+      loadGreyScott(greyScottSlotPath(gsExportSlot));
+      return;
+    }
+    catch (IOException e){
+      println("Could not load " + greyScottSlotPath(gsExportSlot) + ", starting from a cleared grid: " + e.getMessage());
+    }
+  }
+  gsSim.reset();
+}
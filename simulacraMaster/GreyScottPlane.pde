@@ -24,6 +24,7 @@ public class GreyScottPlane extends Artifact{  // Plane is a type of Artifact
   int feedW = 4;
   int feedH = 4;
 
+  // Fewer iterations each step than the other shapes
   int gsIterations = 10;
 
   // CONSTRUCTOR
@@ -35,8 +36,8 @@ public class GreyScottPlane extends Artifact{  // Plane is a type of Artifact
   // SETUP
   // override setup function to create a plane
   public void setup(){
-    // Initialise our empty ArrayList and initial Vector
-    vertices = new ArrayList<Vert>();
+    // Empty the vertex buffer and create an initial Vector
+    vertices.clear();
     PVector tempVec = new PVector(0,0,0);
 
     // Load an image to be used for feed (if not using the creatures)
@@ -46,8 +47,11 @@ public class GreyScottPlane extends Artifact{  // Plane is a type of Artifact
     int posX = (int)map(mod1, -200, 200, 0, gsWidth);
     int posY = (int)map(mod2, -200, 200, 0, gsHeight);
 
-    // If using the image seed mode, add the image to the toxiclibs grey scott algorithm
-    if (bGSImage) gs.seedImage(img.pixels, img.width, img.height);
+    // If using the image seed mode, add the image to the grey scott algorithm
+    if (bGSImage) gsSim.seedImage(img);
+
+    // The latest state of the simulation
+    float[] grid = gsSim.snapshot();
 
     for(int i = 0; i < gsWidth; i++){
       for(int j = 0; j < gsHeight; j++){
@@ -55,7 +59,7 @@ public class GreyScottPlane extends Artifact{  // Plane is a type of Artifact
         tempVec.x = i*gsRes - (gsWidth*scl/2.0);
         tempVec.y = j*gsRes - (gsHeight*scl/2.0);
 
-        float cellValue = gs.v[(i * gsWidth) + j];
+        float cellValue = grid[(i * gsWidth) + j];
         float mod = map(cellValue, 0, 10, 0, greyScottAmt);
 
         tempVec.z = mod;
@@ -65,41 +69,36 @@ public class GreyScottPlane extends Artifact{  // Plane is a type of Artifact
     }
   }
 
-  // DRAW
-  // override draw function to draw a plane
-  public void draw(PGraphics pg, int it){
-
-    // Update the algorithm depending on the number of iterations set by the GUI
-    for(int i = 0; i < gsIterations; i++) gs.update(1);
-
-    // If we're in creature mode
-    if (bCreatures){
-
-      // Loop through each creature
-      for (int i = 0; i < creatures.length; i++){
-        // Assign it an empty vector
-        creatures[i] = new PVector(0,0,0);
+  // TOPOLOGY
+  // The plane is extruded by the reaction diffusion values, which change every frame
+  public boolean isDirty(){
+    return true;
+  }
 
-        // Generate an X & Y position value based on a looping simplex noise algorithm
-        creatures[i].x = (float)simplexNoise.eval((it + (i*100)) * 0.004, (it + (i*200)) * 0.005);
-        creatures[i].y = (float)simplexNoise.eval((it + (i*200)) * 0.004, (it + (i*300)) * 0.005);
-        creatures[i].z = 0;
+  // The Grey Scott simulation carries over from one frame to the next
+  public boolean canExportInParallel(){
+    return false;
+  }
 
-        // Map the returned value to the width and height of the shape
-        int x = (int)map(creatures[i].x, -1, 1, 0, gsWidth);
-        int y = (int)map(creatures[i].y, -1, 1, 0, gsHeight);
+  // ANIMATE
+  // Step the reaction diffusion
+  public void animate(int it){
+    gsSim.advance(this, it);
+  }
 
-        // And place feed the algorithm at each creatures location
-        gs.setRect(x, y, feedW, feedH);
+  // FEED
+  // Feed the reaction diffusion where the creatures are crawling over the plane, see CreatureField.pde
+  public void feed(int it){
+    feedGrid(it, gsWidth, gsHeight, feedW, feedH);
+  }
 
-        // This gives the impression of creatures crawling over the shape, pressing down on the raised sections
-      }
-    }
+  public int greyScottIterations(){
+    return gsIterations;
+  }
 
-    // Otherwise, just set a small amount of feed in the centre of the shape
-    else if (!bCreatures){
-        gs.setRect(gsWidth/2, gsHeight/2, 3, 3);
-    }
+  // DRAW
+  // override draw function to draw a plane
+  public void draw(PGraphics pg, int it){
 
     pushTransform(pg);
 
@@ -108,15 +107,29 @@ public class GreyScottPlane extends Artifact{  // Plane is a type of Artifact
       pg.beginShape(TRIANGLE_STRIP);
       for(int j = 0; j < gsHeight - 1 ;j++){
 
-        PVector p = vertices.get( (i * gsWidth) + j ).position;
-        PVector p2 = vertices.get( ((i+1) * gsHeight) + j).position;
+        int a = (i * gsWidth) + j;
+        int b = ((i+1) * gsHeight) + j;
 
-        pg.vertex(p.x, p.y, p.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
       pg.endShape();
     }
     popTransform(pg);
 
   }
+
+  // FACES
+  // The same triangle strips as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for(int i = 0; i < gsWidth - 1; i++){
+      strip.clear();
+      for(int j = 0; j < gsHeight - 1; j++){
+        strip.append((i * gsWidth) + j);
+        strip.append(((i+1) * gsHeight) + j);
+      }
+      addStrip(faces, strip);
+    }
+  }
 } // End of Grey Scott Plane class
@@ -0,0 +1,201 @@
+///////////////////////////
+// GREY SCOTT SIMULATION //
+///////////////////////////
+
+// Steps the Grey Scott simulation on its own thread, so the frame rate no longer depends on gsIterations
+// and the simulation runs at the same speed however fast the shapes are drawn.
+//
+// After each step the simulation copies gs.v into a snapshot and publishes it. There are three snapshots:
+// one being written by the simulation, one waiting in 'latest', and one being read by the shapes. Each side
+// swaps its own snapshot with 'latest', so neither side waits for the other, and a snapshot is never
+// written while the shapes are reading it. Resets and checkpoints publish too, so the shapes show them
+// straight away.
+//
+// Exports stop the thread and step the simulation once per exported frame instead, so every frame is built
+// from a known number of steps and exporting the same settings twice gives the same files.
+
+// PROPERTIES
+// Disable to step the simulation on the animation thread, once per frame
+boolean bGreyScottThread = true;
+
+// Steps per second on the simulation thread, each step runs the shape's greyScottIterations()
+float gsStepsPerSecond = 60;
+
+GreyScottSim gsSim = new GreyScottSim();
+
+class GreyScottSnapshot{
+
+  // PROPERTIES
+  // A copy of gs.v
+  final float[] v;
+
+  // The number of snapshots published before this one, so the newest can be told apart from older ones
+  // even after a reset takes the steps back to 0
+  long version = -1;
+
+  // CONSTRUCTOR
+  GreyScottSnapshot(int size){
+    v = new float[size];
+  }
+
+} // End of GreyScottSnapshot class
+
+class GreyScottSim implements Runnable{
+
+  // PROPERTIES
+  // The snapshot being written by the simulation, and the one being read by the shapes
+  GreyScottSnapshot back, front;
+  AtomicReference<GreyScottSnapshot> latest;
+
+  // The shape which feeds the simulation each step, and the frame of the loop it was last animated at.
+  // The thread feeds with that frame, so the creatures follow the same paths as in an export.
+  volatile Artifact shape;
+  volatile int frame;
+
+  // Steps taken since the last reset
+  long steps = 0;
+
+  // Snapshots published so far
+  long published = 0;
+
+  Thread thread;
+  volatile boolean running;
+
+  // The thread stops when no shape has asked for the simulation in this long
+  final long idleNanos = 1000000000L;
+  volatile long lastAdvance;
+
+  // Time spent stepping on the thread since the last frame, recorded by the profiler
+  AtomicLong stepNanos = new AtomicLong();
+
+  // Called by the shape every frame, from animate().
+  // Starts the thread if needed, or when exporting or with the thread disabled steps once with frame 'it'.
+  void advance(Artifact shape, int it){
+    this.shape = shape;
+    frame = it;
+    lastAdvance = System.nanoTime();
+
+    if (bGreyScottThread && !shape.exporting){
+      if (!running) start();
+      profiler.record(PHASE_GREY_SCOTT, stepNanos.getAndSet(0));
+    }
+    else {
+      stop();
+      synchronized (gs){
+        step(shape, it);
+      }
+    }
+  }
+
+  // Create the snapshots for gs and publish its current state
+  void init(){
+    stop();
+    synchronized (gs){
+      back = new GreyScottSnapshot(gs.v.length);
+      front = new GreyScottSnapshot(gs.v.length);
+      latest = new AtomicReference<GreyScottSnapshot>(new GreyScottSnapshot(gs.v.length));
+      steps = 0;
+      publish();
+    }
+  }
+
+  // The latest grid, which doesn't change until the next call
+  float[] snapshot(){
+
+    // Only swap if the simulation has published since the last call, otherwise this would take back an older one
+    if (latest.get().version > front.version) front = latest.getAndSet(front);
+    return front.v;
+  }
+
+  // Clear the grid. The thread is stopped, so an export started after this begins from the cleared grid.
+  void reset(){
+    stop();
+    synchronized (gs){
+      gs.reset();
+      steps = 0;
+      publish();
+    }
+  }
+
+  // Replace the grid, u then v from 'grid', and the coefficients, as saved in a checkpoint
+  void restore(FloatBuffer grid, float f, float k, float dU, float dV, long steps){
+    stop();
+    synchronized (gs){
+      grid.get(gs.u, 0, gs.u.length);
+      grid.get(gs.v, 0, gs.v.length);
+      gs.setCoefficients(f, k, dU, dV);
+      this.steps = steps;
+      publish();
+    }
+  }
+
+  // Add an image to the grid
+  void seedImage(PImage img){
+    synchronized (gs){
+      gs.seedImage(img.pixels, img.width, img.height);
+    }
+  }
+
+  // Feed and step the grid once, then publish it. Must hold the lock on gs.
+  // The profiler only times this on the animation thread, the thread's steps are timed in run().
+  void step(Artifact shape, int it){
+    profiler.begin(PHASE_GREY_SCOTT);
+    shape.feed(it);
+    gs.update(1, shape.greyScottIterations());
+    steps++;
+    publish();
+    profiler.end();
+  }
+
+  // Copy the grid into the back snapshot and swap it with the latest. Must hold the lock on gs.
+  void publish(){
+    System.arraycopy(gs.v, 0, back.v, 0, back.v.length);
+    back.version = published++;
+    back = latest.getAndSet(back);
+  }
+
+  void start(){
+    running = true;
+    thread = new Thread(this, "Grey Scott");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  // Stop the thread, waiting for the current step to finish.
+  // Not interrupted, as that would break the barrier of the Grey Scott threads mid step.
+  void stop(){
+    if (thread == null) return;
+    running = false;
+    java.util.concurrent.locks.LockSupport.unpark(thread);
+    try {
+      thread.join();
+    }
+    catch (InterruptedException e){
+      Thread.currentThread().interrupt();
+    }
+    thread = null;
+  }
+
+  public void run(){
+    long next = System.nanoTime();
+
+    while (running){
+      if (System.nanoTime() - lastAdvance > idleNanos) break;
+
+      synchronized (gs){
+        long start = System.nanoTime();
+        step(shape, frame);
+        stepNanos.addAndGet(System.nanoTime() - start);
+      }
+
+      // Wait for the next step, without trying to catch up if the simulation has fallen behind
+      long interval = (long)(1e9 / max(1, gsStepsPerSecond));
+      next += interval;
+      long wait = next - System.nanoTime();
+      if (wait < 0) next = System.nanoTime();
+      else java.util.concurrent.locks.LockSupport.parkNanos(wait);
+    }
+    running = false;
+  }
+
+} // End of GreyScottSim class
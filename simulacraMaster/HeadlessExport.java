@@ -0,0 +1,306 @@
+/////////////////////
+// HEADLESS EXPORT //
+/////////////////////
+
+// Exports an OBJ sequence from the command line, without opening a window or creating PeasyCam and ControlP5.
+// The shape is built from a settings file saved with the GUI's SAVE button, so a look can be set up
+// interactively and rendered on machines without a display.
+//
+// Run from the sketch folder with the exported application's jars on the classpath;
+//
+//   java -cp "lib/*" HeadlessExport --shape=hyperbolic --settings=controlP5.json --out=seq
+//
+// or to turn a binary sequence back into numbered .obj files for Blender's Stop-motion-OBJ;
+//
+//   java -cp "lib/*" HeadlessExport --convert=seq.smsq --out=seq
+//
+// or to time the Grey Scott simulation, sweeping the whole grid each iteration against stepping it in tiles;
+//
+//   java -cp "lib/*" HeadlessExport --benchmark
+//
+// or to measure how far the single precision noise is from the double precision noise;
+//
+//   java -cp "lib/*" HeadlessExport --check
+//
+// Options
+//   --settings=file   ControlP5 settings to load, defaults to controlP5.json
+//   --shape=name      plane, hyperbolic, sphere, cube, flower, tongue, barnsley, model, modelSeq, image, imgSeq, grey.
+//                     Defaults to the shape chosen in selectShape()
+//   --out=name        Prefix of the exported files, defaults to seq
+//   --start=frame     Frame of the loop to start exporting from, defaults to 0
+//   --format=name     obj for numbered .obj files or smsq for a single binary sequence, defaults to obj
+//   --quantise        Store the binary sequence's positions as 16 bit values
+//   --convert=file    Write the frames of a binary sequence as .obj files instead of exporting a shape
+//   --benchmark       Time the Grey Scott simulation at 128, 256, 512 and 1024 cells square
+//   --check           Compare OpenSimplexNoiseFloat with OpenSimplexNoise, exits with 1 if they differ by 6e-5 or more
+//   --warm=file       Start the Grey Scott simulation from a checkpoint saved with shift and a camera key,
+//                     such as checkpoints/greyScott1.gsck, instead of a cleared grid
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import processing.data.JSONObject;
+
+public class HeadlessExport {
+
+  static final String[] SHAPES = {
+    "plane", "hyperbolic", "sphere", "cube", "flower", "tongue",
+    "barnsley", "model", "modelSeq", "image", "imgSeq", "grey"
+  };
+
+  public static void main(String[] args) {
+    String settings = "controlP5.json";
+    String shape = null;
+    String out = "seq";
+    int start = 0;
+    String format = "obj";
+    String convert = null;
+    boolean quantise = false;
+    String warm = null;
+
+    for (String arg : args) {
+      if (arg.startsWith("--settings=")) settings = value(arg);
+      else if (arg.startsWith("--shape=")) shape = value(arg);
+      else if (arg.startsWith("--out=")) out = value(arg);
+      else if (arg.startsWith("--start=")) start = Integer.parseInt(value(arg));
+      else if (arg.startsWith("--format=")) format = value(arg);
+      else if (arg.startsWith("--convert=")) convert = value(arg);
+      else if (arg.equals("--quantise")) quantise = true;
+      else if (arg.startsWith("--warm=")) warm = value(arg);
+      else if (arg.equals("--benchmark")) {
+        benchmark();
+        System.exit(0);
+      }
+      else if (arg.equals("--check")) {
+        System.exit(checkFloatNoise() ? 0 : 1);
+      }
+      else fail("Unknown option " + arg);
+    }
+
+    if (!format.equals("obj") && !format.equals("smsq")) fail("Unknown format " + format);
+
+    // The sketch is never run, so nothing window related is created
+    simulacraMaster sketch = new simulacraMaster();
+
+    if (convert != null) {
+      convert(sketch, convert, out);
+      System.exit(0);
+    }
+
+    if (!new File(settings).exists()) fail("Settings file not found: " + settings);
+
+    sketch.initSimulation();
+    sketch.selectShape();
+    if (shape != null) selectShape(sketch, shape);
+
+    applySettings(sketch, sketch.loadJSONObject(new File(settings)));
+
+    sketch.shape1 = sketch.createArtifact();
+    if (sketch.shape1 == null) fail("No shape selected");
+
+    // Same as the SEQUENCE button
+    if (warm != null) {
+      try {
+        sketch.loadGreyScott(warm);
+      }
+      catch (IOException e) {
+        fail("Could not load " + warm + ": " + e.getMessage());
+      }
+    }
+    else {
+      sketch.gsSim.reset();
+    }
+    if (format.equals("smsq")) {
+      sketch.bQuantiseSequence = quantise;
+      sketch.shape1.exportBinarySequence(out, start);
+    }
+    else {
+      sketch.shape1.exportMeshSequence(out, start);
+    }
+
+    System.exit(0);
+  }
+
+  // Write every frame of a binary sequence as a numbered .obj file
+  static void convert(simulacraMaster sketch, String path, String out) {
+    try {
+      simulacraMaster.MeshSequence sequence = sketch.new MeshSequence(path);
+      sequence.toObj(out);
+      System.out.println("Converted " + sequence.frameCount + " frames of " + path);
+    }
+    catch (IOException e) {
+      fail("Could not convert " + path + ": " + e.getMessage());
+    }
+  }
+
+  // Time 40 iterations per frame, the most the GUI allows, with and without temporal blocking.
+  // Both grids are seeded the same, so they should match exactly at the end.
+  static void benchmark() {
+    int iterations = 40;
+    System.out.println("size   sweep ms/frame   tiled ms/frame   speedup   identical");
+
+    for (int size = 128; size <= 1024; size *= 2) {
+      GreyScott sweep = new GreyScott(size, size, true);
+      GreyScott tiled = new GreyScott(size, size, true);
+      tiled.setBlocking(true);
+
+      // Roughly the same amount of work at every size
+      int frames = Math.max(3, (1 << 22) / (size * size));
+
+      double sweepTime = 0, tiledTime = 0;
+      for (GreyScott gs : new GreyScott[] {sweep, tiled}) {
+        gs.setCoefficients(0.028f, 0.084f, 0.095f, 0.03f);
+        java.util.Random random = new java.util.Random(0);
+        for (int i = 0; i < 40; i++) gs.setRect(random.nextInt(size), random.nextInt(size), 6, 6);
+
+        // Warm up the JIT before timing
+        gs.update(1, iterations * 2);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) gs.update(1, iterations);
+        double time = (System.nanoTime() - start) / 1e6 / frames;
+
+        if (gs == sweep) sweepTime = time;
+        else tiledTime = time;
+      }
+
+      boolean identical = java.util.Arrays.equals(sweep.u, tiled.u) && java.util.Arrays.equals(sweep.v, tiled.v);
+      System.out.println(String.format("%-6d %-16.2f %-16.2f %-9.2f %s", size, sweepTime, tiledTime, sweepTime / tiledTime, identical));
+
+      sweep.dispose();
+      tiled.dispose();
+    }
+  }
+
+  // Sample both noise implementations at the same random points, one at a time and through the batch
+  // eval() the modulators use, and report the largest difference. Returns whether it is under the 6e-5
+  // stated in OpenSimplexNoiseFloat for coordinates within +/-40.
+  static boolean checkFloatNoise() {
+    double bound = 6e-5;
+    int samples = 1000000;
+    int batch = 1024;
+
+    OpenSimplexNoise noise = new OpenSimplexNoise();
+    OpenSimplexNoiseFloat noiseFloat = new OpenSimplexNoiseFloat();
+    java.util.Random random = new java.util.Random(0);
+
+    // Single points anywhere within +/-40
+    double maxPoint = 0, sumPoint = 0;
+    for (int i = 0; i < samples; i++) {
+      float x = random.nextFloat() * 80 - 40;
+      float y = random.nextFloat() * 80 - 40;
+      float z = random.nextFloat() * 80 - 40;
+      float w = random.nextFloat() * 80 - 40;
+      double error = Math.abs(noise.eval(x, y, z, w) - noiseFloat.eval(x, y, z, w));
+      maxPoint = Math.max(maxPoint, error);
+      sumPoint += error;
+    }
+
+    // Rows of vertices at a shared z and w, scaled as the modulators do
+    float[] xs = new float[batch];
+    float[] ys = new float[batch];
+    double[] out = new double[batch];
+    float[] outFloat = new float[batch];
+    double maxBatch = 0, sumBatch = 0;
+    for (int i = 0; i < samples / batch; i++) {
+      for (int k = 0; k < batch; k++) {
+        xs[k] = random.nextFloat() * 800 - 400;
+        ys[k] = random.nextFloat() * 800 - 400;
+      }
+      float scale = 0.01f + random.nextFloat() * 0.09f;
+      float z = random.nextFloat() * 80 - 40;
+      float w = random.nextFloat() * 80 - 40;
+
+      noise.eval(xs, ys, scale, z, w, out, 0, batch);
+      noiseFloat.eval(xs, ys, scale, z, w, outFloat, 0, batch);
+      for (int k = 0; k < batch; k++) {
+        double error = Math.abs(out[k] - outFloat[k]);
+        maxBatch = Math.max(maxBatch, error);
+        sumBatch += error;
+      }
+    }
+
+    int batchSamples = samples / batch * batch;
+    System.out.println("samples   max error   mean error");
+    System.out.println(String.format("point     %-11.3g %.3g", maxPoint, sumPoint / samples));
+    System.out.println(String.format("batch     %-11.3g %.3g", maxBatch, sumBatch / batchSamples));
+
+    boolean within = maxPoint < bound && maxBatch < bound;
+    System.out.println(within ? "Within " + bound : "Not within " + bound);
+    return within;
+  }
+
+  // Select a single shape by the name of its boolean
+  static void selectShape(simulacraMaster sketch, String name) {
+    boolean found = false;
+    for (String s : SHAPES) {
+      if (s.equals(name)) found = true;
+    }
+    if (!found) fail("Unknown shape " + name);
+
+    for (String s : SHAPES) {
+      setField(sketch, s, s.equals(name) ? 1 : 0);
+    }
+  }
+
+  // Copy every saved controller value into the sketch variable of the same name, as ControlP5 does
+  // when loading properties. Controllers which call a method instead, such as buttons, are skipped.
+  static void applySettings(simulacraMaster sketch, JSONObject json) {
+    for (Object key : json.keys()) {
+      String name = key.toString();
+      JSONObject controller = json.getJSONObject(name);
+      if (!controller.hasKey("value")) continue;
+
+      if (name.startsWith("/")) name = name.substring(1);
+      float value = controller.getFloat("value");
+
+      // The modulator dropdown selects by index
+      if (name.equals("modulator")) {
+        sketch.modulatorIndex = Math.max(0, Math.min((int)value, sketch.modulators.length - 1));
+        continue;
+      }
+
+      if (!hasHandler(name)) setField(sketch, name, value);
+    }
+  }
+
+  // Whether the controller calls a method in the sketch, such as the 'animated' button
+  static boolean hasHandler(String name) {
+    for (Method method : simulacraMaster.class.getDeclaredMethods()) {
+      if (method.getName().equals(name)) return true;
+    }
+    return false;
+  }
+
+  static void setField(simulacraMaster sketch, String name, float value) {
+    Field field;
+    try {
+      field = simulacraMaster.class.getDeclaredField(name);
+    }
+    catch (NoSuchFieldException e) {
+      return;
+    }
+
+    try {
+      field.setAccessible(true);
+      Class<?> type = field.getType();
+      if (type == float.class) field.setFloat(sketch, value);
+      else if (type == int.class) field.setInt(sketch, (int)value);
+      else if (type == boolean.class) field.setBoolean(sketch, value != 0);
+    }
+    catch (IllegalAccessException e) {
+      fail("Could not set " + name + ": " + e.getMessage());
+    }
+  }
+
+  static String value(String arg) {
+    return arg.substring(arg.indexOf('=') + 1);
+  }
+
+  static void fail(String message) {
+    System.err.println(message);
+    System.exit(1);
+  }
+}
@@ -0,0 +1,135 @@
+//////////////////
+// HEIGHT FIELD //
+//////////////////
+
+// The brightness of every pixel of an image as a height from 0 (white) to 1 (black), the same range
+// map(brightness(c), 255, 0, 0, 1) gives. Shapes multiply the heights by the Z slider, so moving the slider
+// never decodes the image again.
+//
+// The heights are saved next to the image as a .hf file the first time it is read, and loaded from there
+// afterwards as long as the image hasn't changed since. The file is little-endian;
+//   'HFLD', width, height    3 x int32
+//   heights                  width x height float32, row by row
+
+// PROPERTIES
+// Disable to always decode the images, without reading or writing .hf files
+boolean bHeightFieldFiles = true;
+
+// 'HFLD' read as a little-endian int
+final int HF_MAGIC = 0x444C4648;
+final int HF_HEADER_BYTES = 12;
+
+class HeightField{
+
+  // PROPERTIES
+  int width, height;
+
+  // One height per pixel, row by row. May be longer than width x height when reused.
+  float[] values = new float[0];
+
+  // Load the heights of an image in the data folder, returns false if the image couldn't be read
+  boolean load(String imagePath){
+    File image = new File(dataPath(imagePath));
+    File file = new File(dataPath(heightFieldPath(imagePath)));
+
+    if (bHeightFieldFiles && file.exists() && file.lastModified() >= image.lastModified()){
+      try {
+        read(file);
+        return true;
+      }
+      catch (IOException e){
+        // Decode the image instead
+      }
+    }
+
+    if (!decode(imagePath)) return false;
+
+    if (bHeightFieldFiles){
+      try {
+        write(file);
+      }
+      catch (IOException e){
+        println("Could not save " + file + ": " + e.getMessage());
+      }
+    }
+    return true;
+  }
+
+  // Take the heights from the image's pixels
+  boolean decode(String imagePath){
+    PImage img = loadImage(imagePath);
+    if (img == null){
+      width = height = 0;
+      return false;
+    }
+    img.loadPixels();
+
+    resize(img.width, img.height);
+
+    // brightness() in the default RGB colour mode is the largest of the three channels
+    for (int k = 0; k < width * height; k++){
+      int c = img.pixels[k];
+      int b = max((c >> 16) & 0xFF, max((c >> 8) & 0xFF, c & 0xFF));
+      values[k] = (255 - b) / 255.0;
+    }
+    return true;
+  }
+
+  void read(File file) throws IOException{
+    FileChannel channel = new FileInputStream(file).getChannel();
+    try {
+      ByteBuffer data = ByteBuffer.allocate((int)channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+      while (data.hasRemaining() && channel.read(data) >= 0);
+      data.flip();
+
+      if (data.remaining() < HF_HEADER_BYTES || data.getInt(0) != HF_MAGIC) throw new IOException(file + " is not a height field");
+      int w = data.getInt(4);
+      int h = data.getInt(8);
+      if (data.remaining() != HF_HEADER_BYTES + (long)w * h * 4) throw new IOException(file + " is the wrong size");
+
+      resize(w, h);
+      data.position(HF_HEADER_BYTES);
+      data.asFloatBuffer().get(values, 0, w * h);
+    }
+    finally {
+      channel.close();
+    }
+  }
+
+  void write(File file) throws IOException{
+    ByteBuffer data = ByteBuffer.allocate(HF_HEADER_BYTES + width * height * 4).order(ByteOrder.LITTLE_ENDIAN);
+    data.putInt(HF_MAGIC);
+    data.putInt(width);
+    data.putInt(height);
+    data.asFloatBuffer().put(values, 0, width * height);
+    data.rewind();
+
+    FileChannel channel = new FileOutputStream(file).getChannel();
+    try {
+      while (data.hasRemaining()) channel.write(data);
+    }
+    finally {
+      channel.close();
+    }
+  }
+
+  // Set the size, keeping the array if it is already large enough
+  void resize(int w, int h){
+    width = w;
+    height = h;
+    if (values.length < w * h) values = new float[w * h];
+  }
+
+  // The height at a pixel, from 0 to 1
+  float get(int i, int j){
+    return values[j * width + i];
+  }
+
+} // End of HeightField class
+
+// The .hf file kept next to an image, 'eyes/0.png' becomes 'eyes/0.hf'
+String heightFieldPath(String imagePath){
+  int dot = imagePath.lastIndexOf('.');
+  if (dot < 0) return imagePath + ".hf";
+  return imagePath.substring(0, dot) + ".hf";
+}
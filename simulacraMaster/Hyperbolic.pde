@@ -29,7 +29,10 @@ public class Hyperbolic extends Artifact{
   // SETUP
   public void setup(){
     // Initialise the empty array
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
+
+    // The latest state of the reaction diffusion
+    float[] grid = bReaction ? gsSim.snapshot() : null;
 
     // Create an empty vector
     PVector tempVec = new PVector(0,0,0);
@@ -56,8 +59,8 @@ public class Hyperbolic extends Artifact{
 
         // If using Reaction Diffusion, generate a  value for the specific vertex, and append it to the array
         if (bReaction){
-          // Grab the value from the .v toxiclibs array
-          float cellValue = gs.v[(i * gsWidth) + j];
+          // Grab the value from the grey scott .v array
+          float cellValue = grid[(i * gsWidth) + j];
           // Map it to a workable value
           float mod = map(cellValue, 0, -10, 0, greyScottAmt);
 
@@ -72,44 +75,23 @@ public class Hyperbolic extends Artifact{
     }
   }
 
-  // DRAW
-  // Override draw function to draw a hypbolic paraboloid
-  public void draw(PGraphics pg, int it){
-
-    // For the reaction diffusion
-    if (bReaction) {
-      // Update the algorithm depending on the number of iterations set by the GUI
-      for(int i = 0; i < gsIterations; i++) gs.update(1);
-
-      // If we're in creature mode
-      if (bCreatures){
-
-        // Loop through each creature
-        for (int i = 0; i < creatures.length; i++){
-          // Assign it an empty vector
-          creatures[i] = new PVector(0,0,0);
-
-          // Generate an X & Y position value based on a looping simplex noise algorithm
-          creatures[i].x = (float)simplexNoise.eval((it + (i*100)) * 0.004, (it + (i*200)) * 0.005);
-          creatures[i].y = (float)simplexNoise.eval((it + (i*200)) * 0.004, (it + (i*300)) * 0.005);
-          creatures[i].z = 0;
-
-          // Map the returned value to the width and height of the shape
-          int x = (int)map(creatures[i].x, -1, 1, 0, hyperbolicWidth);
-          int y = (int)map(creatures[i].y, -1, 1, 0, hyperbolicHeight);
+  // TOPOLOGY
+  // The paraboloid is rebuilt when its size or shape values change
+  public float[] topologyParams(){
+    return new float[] { hyperbolicWidth, hyperbolicHeight, hyperbolicRes, hyperbolicWave, hyperbolicFx, hyperbolicFy, hyperbolicAmplify, greyScottAmt };
+  }
 
-          // And place feed the algorithm at each creatures location
-          gs.setRect(x, y, feedW, feedH);
+  // The reaction diffusion values change every frame, so rebuild whenever it is running
+  public boolean isDirty(){
+    return bReaction || super.isDirty();
+  }
 
-          // This gives the impressions of creatures crawling across the shape, pressing down on the raised sections
-        }
-      }
+  // ANIMATE
+  // Step the reaction diffusion and animate the shape values
+  public void animate(int it){
 
-      // Otherwise, just set a small amount of feed in the centre of the shape
-      else if (!bCreatures){
-          gs.setRect(hyperbolicWidth/2, hyperbolicHeight/2, 3, 3);
-      }
-    }
+    // For the reaction diffusion
+    if (bReaction) gsSim.advance(this, it);
 
     // If in animation mode, modulate the hyperbolic amplification, wave, Fx and Fy values according to the return noise value
     if (animated){
@@ -121,6 +103,17 @@ public class Hyperbolic extends Artifact{
       hyperbolicFx = map2(ns, -1, 1, fxMin, fxMax, QUADRATIC, EASE_IN_OUT);
       hyperbolicFy = map2(ns, -1, 1, fyMin, fyMax, QUADRATIC, EASE_IN_OUT);
     }
+  }
+
+  // FEED
+  // Feed the reaction diffusion where the creatures are crawling over the paraboloid, see CreatureField.pde
+  public void feed(int it){
+    feedGrid(it, hyperbolicWidth, hyperbolicHeight, feedW, feedH);
+  }
+
+  // DRAW
+  // Override draw function to draw a hypbolic paraboloid
+  public void draw(PGraphics pg, int it){
 
     pushTransform(pg);
 
@@ -130,14 +123,14 @@ public class Hyperbolic extends Artifact{
       for(int j = 0; j < hei-1; j++){
 
         // Grab the first vertex in the column
-        PVector p = vertices.get( (i * wid) + j ).position;
+        int a = (i * wid) + j;
 
         // The grab the corresponding vertex in the next row
-        PVector p2 = vertices.get( ((i + 1) * hei) + j).position;
+        int b = ((i + 1) * hei) + j;
 
         // And append them to the array
-        pg.vertex(p.x, p.y, p.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
       pg.endShape();
     }
@@ -145,4 +138,18 @@ public class Hyperbolic extends Artifact{
     popTransform(pg);
     it++;
   }
+
+  // FACES
+  // The same triangle strips as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for(int i = 0; i < wid - 1; i++){
+      strip.clear();
+      for(int j = 0; j < hei - 1; j++){
+        strip.append((i * wid) + j);
+        strip.append(((i+1) * hei) + j);
+      }
+      addStrip(faces, strip);
+    }
+  }
 } // End of the Hyperbolic class
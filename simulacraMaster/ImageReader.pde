@@ -3,6 +3,8 @@
 //////////////////
 
 // This class loads a two-dimensional image, and uses its brightness values to extrude a plane in z-space.
+// The brightness is read once into a height field (see HeightField.pde), so changing the Z slider only
+// rescales the plane's heights instead of loading the image again.
 
 // Boolean for inititialising the class
 boolean image;
@@ -10,8 +12,16 @@ boolean image;
 public class ImageReader extends Plane{
 
   // PROPERTIES
-  PImage img;
-  String imageName;
+  HeightField img = new HeightField();
+
+  // Enter the name of the image to load
+  String imageName = "simulacra";
+
+  // The Z slider value the heights were last scaled by
+  float extrusion;
+
+  // The image the heights were loaded from
+  String loadedName;
 
   ImageReader() {
     super();
@@ -21,16 +31,11 @@ public class ImageReader extends Plane{
   public void setup(){
 
     // Initialise the empty array
-    vertices = new ArrayList<Vert>();
-
-    // Enter the name of the image to load
-    imageName = "simulacra";
-
-    // Load the chosen image
-    img = loadImage(imageName + ".png");
+    vertices.clear();
 
-    // Along with its pixels
-    img.loadPixels();
+    // Load the heights of the chosen image
+    loadedName = imageName;
+    img.load(imageName + ".png");
 
     // Assign the width of the plane to be the same width and height of the loaded image
     wid = img.width;
@@ -45,9 +50,38 @@ public class ImageReader extends Plane{
                  getZAt(i, j));
       }
     }
+    extrusion = z_Slider;
+  }
+
+  // TOPOLOGY
+  // The vertices only need creating again if a different image is chosen, not when the plane's values change
+  public float[] topologyParams(){
+    return new float[0];
+  }
+
+  public boolean isDirty(){
+    return !imageName.equals(loadedName) || super.isDirty();
+  }
 
-    // Update the pixels
-    img.updatePixels();
+  // Rescale the heights whenever the Z slider is moved
+  public void rebuild(){
+    super.rebuild();
+    if (extrusion != z_Slider) extrude();
+  }
+
+  // Set every vertex's Z to its height scaled by the Z slider, in the same order setup() adds them
+  void extrude(){
+    int k = 0;
+    for(int i = 0; i < wid; i++){
+      for(int j = 0; j < hei; j++){
+        float z = getZAt(i, j);
+        vertices.initZ[k] = z;
+        vertices.z[k] = z;
+        k++;
+      }
+    }
+    vertices.initVersion++;
+    extrusion = z_Slider;
   }
 
   public void draw(PGraphics pg, int it){
@@ -59,11 +93,11 @@ public class ImageReader extends Plane{
       pg.beginShape(TRIANGLE_STRIP);
       for(int j = 0; j < hei - 1 ;j++){
 
-        PVector p = vertices.get( (i * wid) + j ).position;
-        PVector p2 = vertices.get( ((i+1) * hei) + j).position;
+        int a = (i * wid) + j;
+        int b = ((i+1) * hei) + j;
 
-        pg.vertex(p.x, p.y, p.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
       pg.endShape();
     }
@@ -71,9 +105,23 @@ public class ImageReader extends Plane{
 
   }
 
-  // Find the corresponding vertex and map its brightness value to a chosen range via the GUI
+  // FACES
+  // The same triangle strips as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for(int i = 0; i < wid - 1; i++){
+      strip.clear();
+      for(int j = 0; j < hei - 1; j++){
+        strip.append((i * wid) + j);
+        strip.append(((i+1) * hei) + j);
+      }
+      addStrip(faces, strip);
+    }
+  }
+
+  // Find the corresponding vertex and scale its height by the range chosen via the GUI
   float getZAt(int i, int j){
-    float res = map(brightness(img.pixels[ j * wid + i]), 255, 0, 0, z_Slider);
+    float res = img.get(i, j) * z_Slider;
     return res;
   }
 
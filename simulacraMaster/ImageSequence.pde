@@ -15,19 +15,20 @@ boolean imgSeq;
 public class ImageSequence extends Plane{
 
   // PROPERTIES
-  PImage img;
+  DecodedFrame img;
   String sequenceName;
   int frameCounter = 0;
   int frameAmount = 235;
 
+  // Decodes the next images in the background
+  FramePrefetcher prefetcher;
+
   ImageSequence() {
     super();
   }
 
   // SETUP
   public void setup(){
-    // Initialise the empty array
-    vertices = new ArrayList<Vert>();
 
     // Create an empty vector
     // PVector tempVec = new PVector(0,0,0);
@@ -35,9 +36,22 @@ public class ImageSequence extends Plane{
     // Enter the name of the image to load
     sequenceName = "eyes";
 
-    // Load the image by appending the current frame number
-    img = loadImage(sequenceName + "/" + frameCounter + ".png");
-    img.loadPixels();
+    // Start decoding the sequence in the background, or start again if a different sequence is chosen
+    if (prefetcher == null || !prefetcher.sequenceName.equals(sequenceName)){
+      if (prefetcher != null) prefetcher.stop();
+      prefetcher = new FramePrefetcher(this, prefetchFrames);
+    }
+
+    // Swap in the decoded image of the current frame.
+    // If it couldn't be loaded keep showing the previous frame, but still move on to the next.
+    img = prefetcher.get(frameCounter);
+    if (img.frame != frameCounter){
+      advanceFrame();
+      return;
+    }
+
+    // Initialise the empty array
+    vertices.clear();
 
     // Assign the width and height of the plane to be the same as the image
     wid = img.width;
@@ -54,17 +68,45 @@ public class ImageSequence extends Plane{
       }
     }
 
-    img.updatePixels();
-
     // Advance to the next frame
-    frameCounter++;
+    advanceFrame();
+  }
 
-    // If the end of the sequence is reached, return to the first image in the sequence
+  // Move on by one frame. If the end of the sequence is reached, return to the first image in the sequence
+  void advanceFrame(){
+    frameCounter++;
     if (frameCounter >= frameAmount){
       frameCounter = 0;
+      println(prefetcher.stats());
     }
   }
 
+  // The image shown for the given frame
+  String framePath(int frame){
+    return sequenceName + "/" + frame + ".png";
+  }
+
+  // The frame shown after the given one, setup() and animate() each advance the counter once
+  int nextFrame(int frame){
+    return (frame + 2) % frameAmount;
+  }
+
+  // TOPOLOGY
+  // setup() loads the next image in the sequence, so it runs every frame
+  public boolean isDirty(){
+    return true;
+  }
+
+  // Each frame loads the next image of the sequence
+  public boolean canExportInParallel(){
+    return false;
+  }
+
+  // Advance the frame counter again, setup() has already moved it on by one
+  public void animate(int it){
+    advanceFrame();
+  }
+
   public void draw(PGraphics pg, int it){
 
     pushTransform(pg);
@@ -74,22 +116,34 @@ public class ImageSequence extends Plane{
       pg.beginShape(TRIANGLE_STRIP);
       for(int j = 0; j < hei - 1 ; j++){
 
-        PVector p = vertices.get((i * wid) + j).position;
-        PVector p2 = vertices.get(((i+1) * hei) + j).position;
+        int a = (i * wid) + j;
+        int b = ((i+1) * hei) + j;
 
-        pg.vertex(p.x, p.y, p.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
       pg.endShape();
     }
     popTransform(pg);
+  }
 
-    frameCounter++;
+  // FACES
+  // The same triangle strips as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for(int i = 0; i < wid - 1; i++){
+      strip.clear();
+      for(int j = 0; j < hei - 1; j++){
+        strip.append((i * wid) + j);
+        strip.append(((i+1) * hei) + j);
+      }
+      addStrip(faces, strip);
+    }
   }
 
-  // Find the corresponding vertex and map its brightness value to a chosen range via the GUI
+  // Find the corresponding vertex and scale its height by the range chosen via the GUI
   float getZAt(int i, int j){
-    float res = map(brightness(img.pixels[ j * wid + i]), 255, 0, 0, z_Slider);
+    float res = img.get(i, j) * z_Slider;
     return res;
   }
 
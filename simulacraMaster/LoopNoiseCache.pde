@@ -0,0 +1,113 @@
+//////////////////////
+// LOOP NOISE CACHE //
+//////////////////////
+
+// Every animation is a loop of numFrames_Slider frames, and the looping noise sampled for a vertex only
+// depends on its initial position and the frame of the loop. Once a full loop has been played, the noise
+// for every vertex and frame is kept here and read back instead of evaluated again.
+//
+// Only the modulators taking a single sample at (scale * x, scale * y) read from the cache. The values
+// are thrown away whenever the scale, radius, number of frames, noise precision or the shape's vertices
+// change, and the cache is bypassed while exporting so sequences are always sampled fresh.
+//
+// Nothing is allocated until the values have held for a frame, so shapes rebuilt every frame (sequences,
+// reaction diffusion) and the animation modes which move the scale and radius every frame never cache.
+
+// PROPERTIES
+// Enable to reuse the noise from earlier loops
+boolean bLoopCache = false;
+
+// Keep the values outside of the Java heap
+boolean bLoopCacheDirect = false;
+
+// The most memory the cache may use, larger meshes and loops are not cached
+int loopCacheMB = 256;
+
+class LoopNoiseCache{
+
+  // One value per vertex per frame, frame by frame
+  FloatBuffer values;
+  boolean direct;
+
+  // Which frames of the loop have been stored
+  boolean[] filled;
+
+  // The values the noise was sampled with, initVersion being the vertices' initial positions
+  int vertexCount, numFrames, initVersion;
+  float scale, radius;
+  boolean floatNoise, directValues;
+
+  // Check the cache still matches the current values, emptying it if not.
+  // Returns null if the values changed since the last frame or the loop doesn't fit within the memory cap.
+  LoopNoiseCache prepare(int vertexCount, int initVersion){
+    if (numFrames_Slider <= 0 || vertexCount == 0) return null;
+
+    // Remember the new values, but only allocate once they are the same on the next frame
+    if (this.vertexCount != vertexCount || this.initVersion != initVersion
+        || numFrames != numFrames_Slider || scale != scale_Slider || radius != radius_Slider
+        || floatNoise != bFloatNoise || directValues != bLoopCacheDirect){
+
+      this.vertexCount = vertexCount;
+      this.initVersion = initVersion;
+      numFrames = numFrames_Slider;
+      scale = scale_Slider;
+      radius = radius_Slider;
+      floatNoise = bFloatNoise;
+      directValues = bLoopCacheDirect;
+      filled = null;
+      return null;
+    }
+
+    if (filled == null) allocate((long)vertexCount * numFrames);
+    return values == null ? null : this;
+  }
+
+  void allocate(long size){
+    filled = new boolean[numFrames];
+
+    // Too large to keep, release any previous buffer
+    if (size * 4 > (long)loopCacheMB * 1024 * 1024 || size * 4 > Integer.MAX_VALUE){
+      values = null;
+      return;
+    }
+
+    // Reuse the existing buffer if it is large enough
+    if (values != null && direct == bLoopCacheDirect && values.capacity() >= size) return;
+
+    direct = bLoopCacheDirect;
+    if (direct) values = ByteBuffer.allocateDirect((int)size * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    else values = FloatBuffer.allocate((int)size);
+  }
+
+  // Empty the cache
+  void clear(){
+    values = null;
+    filled = null;
+  }
+
+  int frameOffset(int frame){
+    return (frame % numFrames) * vertexCount;
+  }
+
+  boolean has(int frame){
+    return filled[frame % numFrames];
+  }
+
+  // Copy the stored values for the given vertices into out
+  void read(int frame, double[] out, int from, int to){
+    int base = frameOffset(frame);
+    for (int k = from; k < to; k++) out[k] = values.get(base + k);
+  }
+
+  // Store the values for the given vertices. Ranges may be written from several threads at once.
+  void write(int frame, double[] in, int from, int to){
+    int base = frameOffset(frame);
+    for (int k = from; k < to; k++) values.put(base + k, (float)in[k]);
+  }
+
+  // Mark a frame as stored once every vertex has been written
+  void complete(int frame){
+    filled[frame % numFrames] = true;
+  }
+
+} // End of LoopNoiseCache class
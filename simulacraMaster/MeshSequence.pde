@@ -0,0 +1,239 @@
+///////////////////
+// MESH SEQUENCE //
+///////////////////
+
+// A binary alternative to exporting one .obj file per frame. Only the positions change from one frame of
+// a loop to the next, so a .smsq file stores the faces once, followed by every frame's positions packed together.
+//
+// Layout, little-endian;
+//   header   'SMSQ', version, vertex count, index count, frame count, flags        6 x int32
+//   faces    index count x int32, three per triangle, counting from 0
+//   frames   frame count x frame
+//
+// A frame is vertex count x (x, y, z) as float32. When quantised, a frame is the bounding box of its
+// positions (min x, y, z then max x, y, z as float32) followed by vertex count x (x, y, z) as unsigned
+// 16 bit values spread across the box, which halves the size again at 1/65535 of the shape's size.
+//
+// Every frame is the same size, so frames can be written in any order and read straight out of a mapped file.
+// Sequences are turned back into .obj files for Blender with MeshSequence.toObj(), or from the command line,
+// see HeadlessExport.java.
+
+// PROPERTIES
+// Enable to store positions as 16 bit values instead of floats
+boolean bQuantiseSequence = false;
+
+// 'SMSQ' read as a little-endian int
+final int SMSQ_MAGIC = 0x51534D53;
+final int SMSQ_VERSION = 1;
+final int SMSQ_HEADER_BYTES = 24;
+
+// Flags
+final int SMSQ_QUANTISED = 1;
+
+// The number of bytes each frame takes up
+int smsqFrameBytes(int vertexCount, boolean quantised){
+  if (quantised) return 24 + vertexCount * 3 * 2;
+  return vertexCount * 3 * 4;
+}
+
+class MeshSequenceWriter{
+
+  // PROPERTIES
+  FileChannel channel;
+  int vertexCount, frameCount;
+  boolean quantised;
+
+  // Where the first frame starts and the size of each frame in bytes
+  long frameStart;
+  int frameBytes;
+
+  // CONSTRUCTOR
+  // Write the header and faces, the frames are written afterwards with writeFrame()
+  MeshSequenceWriter(String path, int vertexCount, IntList faces, int frameCount, boolean quantised) throws IOException{
+    this.vertexCount = vertexCount;
+    this.frameCount = frameCount;
+    this.quantised = quantised;
+
+    File file = new File(savePath(path));
+    createPath(file.getAbsolutePath());
+    channel = new RandomAccessFile(file, "rw").getChannel();
+    channel.truncate(0);
+
+    ByteBuffer header = ByteBuffer.allocate(SMSQ_HEADER_BYTES + faces.size() * 4).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(SMSQ_MAGIC);
+    header.putInt(SMSQ_VERSION);
+    header.putInt(vertexCount);
+    header.putInt(faces.size());
+    header.putInt(frameCount);
+    header.putInt(quantised ? SMSQ_QUANTISED : 0);
+    for (int k = 0; k < faces.size(); k++) header.putInt(faces.get(k));
+    header.flip();
+    write(header, 0);
+
+    frameStart = header.capacity();
+    frameBytes = smsqFrameBytes(vertexCount, quantised);
+  }
+
+  // Write one frame's positions, transformed by the given matrix.
+  // Each frame has its own place in the file, so frames may be written from several threads at once.
+  void writeFrame(int frame, VertexBuffer vertices, PMatrix3D matrix) throws IOException{
+    if (vertices.count != vertexCount){
+      throw new IllegalStateException("Frame " + frame + " has " + vertices.count + " vertices, the sequence has " + vertexCount);
+    }
+    if (frame < 0 || frame >= frameCount){
+      throw new IllegalArgumentException("Frame " + frame + " is outside the sequence of " + frameCount);
+    }
+
+    // Transform every position first, the bounding box is needed before quantising
+    float[] pos = new float[vertexCount * 3];
+    for (int i = 0; i < vertexCount; i++){
+      float x = vertices.x[i];
+      float y = vertices.y[i];
+      float z = vertices.z[i];
+      pos[i * 3] = matrix.multX(x, y, z);
+      pos[i * 3 + 1] = matrix.multY(x, y, z);
+      pos[i * 3 + 2] = matrix.multZ(x, y, z);
+    }
+
+    ByteBuffer data = ByteBuffer.allocate(frameBytes).order(ByteOrder.LITTLE_ENDIAN);
+
+    if (quantised){
+      float[] lo = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+      float[] hi = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+      for (int k = 0; k < pos.length; k++){
+        int axis = k % 3;
+        if (pos[k] < lo[axis]) lo[axis] = pos[k];
+        if (pos[k] > hi[axis]) hi[axis] = pos[k];
+      }
+      if (vertexCount == 0){
+        lo = new float[3];
+        hi = new float[3];
+      }
+
+      for (int axis = 0; axis < 3; axis++) data.putFloat(lo[axis]);
+      for (int axis = 0; axis < 3; axis++) data.putFloat(hi[axis]);
+
+      for (int k = 0; k < pos.length; k++){
+        int axis = k % 3;
+        float range = hi[axis] - lo[axis];
+        int q = range > 0 ? Math.round((pos[k] - lo[axis]) / range * 65535) : 0;
+        data.putShort((short)q);
+      }
+    }
+    else {
+      for (int k = 0; k < pos.length; k++) data.putFloat(pos[k]);
+    }
+
+    data.flip();
+    write(data, frameStart + (long)frame * frameBytes);
+  }
+
+  // Write the whole buffer at the given position in the file
+  void write(ByteBuffer data, long position) throws IOException{
+    while (data.hasRemaining()) position += channel.write(data, position);
+  }
+
+  void close() throws IOException{
+    channel.close();
+  }
+
+} // End of MeshSequenceWriter class
+
+class MeshSequence{
+
+  // PROPERTIES
+  ByteBuffer data;
+  int vertexCount, indexCount, frameCount;
+  boolean quantised;
+  long frameStart;
+  int frameBytes;
+
+  // CONSTRUCTOR
+  // Map a .smsq file, nothing is read until a frame is asked for
+  MeshSequence(String path) throws IOException{
+    File file = new File(savePath(path));
+    FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+    try {
+      // A single mapping is limited to 2GB
+      if (channel.size() > Integer.MAX_VALUE) throw new IOException(path + " is too large to map");
+      data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    finally {
+      channel.close();
+    }
+
+    if (data.capacity() < SMSQ_HEADER_BYTES || data.getInt(0) != SMSQ_MAGIC){
+      throw new IOException(path + " is not a mesh sequence");
+    }
+    if (data.getInt(4) != SMSQ_VERSION){
+      throw new IOException(path + " is version " + data.getInt(4) + ", expected " + SMSQ_VERSION);
+    }
+
+    vertexCount = data.getInt(8);
+    indexCount = data.getInt(12);
+    frameCount = data.getInt(16);
+    quantised = (data.getInt(20) & SMSQ_QUANTISED) != 0;
+
+    frameStart = SMSQ_HEADER_BYTES + (long)indexCount * 4;
+    frameBytes = smsqFrameBytes(vertexCount, quantised);
+
+    if (frameStart + (long)frameCount * frameBytes > data.capacity()){
+      throw new IOException(path + " is shorter than its " + frameCount + " frames");
+    }
+  }
+
+  // Add the faces to the list, three indices per triangle
+  void faces(IntList faces){
+    for (int k = 0; k < indexCount; k++) faces.append(data.getInt(SMSQ_HEADER_BYTES + k * 4));
+  }
+
+  // Replace the vertices in the buffer with the positions of the given frame
+  void frame(int frame, VertexBuffer vertices){
+    int base = (int)(frameStart + (long)frame * frameBytes);
+    vertices.clear();
+
+    if (quantised){
+      float[] lo = new float[3];
+      float[] range = new float[3];
+      for (int axis = 0; axis < 3; axis++){
+        lo[axis] = data.getFloat(base + axis * 4);
+        range[axis] = (data.getFloat(base + 12 + axis * 4) - lo[axis]) / 65535;
+      }
+
+      int at = base + 24;
+      for (int i = 0; i < vertexCount; i++, at += 6){
+        vertices.push(lo[0] + (data.getShort(at) & 0xFFFF) * range[0],
+                      lo[1] + (data.getShort(at + 2) & 0xFFFF) * range[1],
+                      lo[2] + (data.getShort(at + 4) & 0xFFFF) * range[2]);
+      }
+    }
+    else {
+      int at = base;
+      for (int i = 0; i < vertexCount; i++, at += 12){
+        vertices.push(data.getFloat(at), data.getFloat(at + 4), data.getFloat(at + 8));
+      }
+    }
+  }
+
+  // Write every frame as a numbered .obj file, the same names the OBJ sequence export uses
+  void toObj(String fileName) throws IOException{
+    VertexBuffer vertices = new VertexBuffer(vertexCount);
+    IntList faces = new IntList();
+    faces(faces);
+
+    // The positions were transformed when they were written
+    PMatrix3D identity = new PMatrix3D();
+
+    for (int f = 0; f < frameCount; f++){
+      frame(f, vertices);
+      ObjWriter writer = new ObjWriter(fileName + nf(f, 4) + ".obj");
+      try {
+        writer.write(vertices, faces, identity);
+      }
+      finally {
+        writer.close();
+      }
+    }
+  }
+
+} // End of MeshSequence class
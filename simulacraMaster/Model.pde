@@ -3,13 +3,12 @@
 ////////////
 
 // A class which allows for the import and manipulation of a 3D model
-// The model should be in .obj format and triangulated.
+// The model should be in .obj format, any faces with more than three corners are split into triangles.
+// Each position in the file is a single vertex shared by all of its triangles, so it is only modulated
+// once and neighbouring triangles always stay joined.
 
 // Reference
 
-// For recursively appending children of an obj;
-// https://stackoverflow.com/questions/40937648/processing-obj-extract-vertex
-
 // 'myFace' model generated via 'Large Pose 3D Face Reconstruction from a Single
 // Image via Direct Volumetric CNN Regression' from an image of myself.
 // http://cvl-demos.cs.nott.ac.uk/vrn/
@@ -22,7 +21,11 @@ String modelName = "myFace";
 public class Model extends Artifact{
 
   // PROPERTIES
-  PShape importedModel;
+  // Three vertex indices per triangle
+  int[] indices = new int[0];
+
+  // The model the vertices were loaded from
+  String loadedName;
 
   // CONSTRUCTOR
   Model(){
@@ -33,14 +36,27 @@ public class Model extends Artifact{
   // SETUP
   public void setup(){
     // Initialise the empty array
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
 
     // Load the specified 3D model
-    importedModel = loadShape(modelName + ".obj");
-    // loadModel();
+    loadedName = modelName;
+    ObjMesh mesh = loadObjMesh(modelName + ".obj");
+    if (mesh == null){
+      indices = new int[0];
+      return;
+    }
+
+    // Add each unique position once, the triangles index into them
+    for (int v = 0; v < mesh.vertexCount; v++){
+      pushVert(mesh.positions[v * 3], mesh.positions[v * 3 + 1], mesh.positions[v * 3 + 2]);
+    }
+    indices = mesh.indices;
+  }
 
-    // Get all vertices of model
-    getVertices(importedModel, vertices);
+  // TOPOLOGY
+  // The model only needs to be loaded again if a different one is chosen
+  public boolean isDirty(){
+    return !modelName.equals(loadedName) || super.isDirty();
   }
 
   // DRAW
@@ -48,41 +64,22 @@ public class Model extends Artifact{
 
     pushTransform(pg);
 
-    // Loop through every vertex and draw the model as TRIANGLES
+    // Loop through every triangle and draw the model as TRIANGLES
     pg.beginShape(TRIANGLES);
-
-    // Or QUADS if the model hasn't been triangulated
-    // pg.beginShape(QUADS);
-
-    for (int i = 0; i < vertices.size(); i++){
-      PVector p = vertices.get(i).position;
-      pg.vertex(p.x, p.y, p.z);
+    for (int k = 0; k < indices.length; k++){
+      int i = indices[k];
+      pg.vertex(vertices.x[i], vertices.y[i], vertices.z[i]);
     }
     pg.endShape();
     popTransform(pg);
 
   }
 
-  void getVertices(PShape shape, ArrayList<Vert> verts){
-
-    // For each face in the current mesh
-    for (int i = 0; i < shape.getChildCount(); i++){
-
-      PShape child = shape.getChild(i);
-      int numChildren = child.getChildCount();
-
-      // if there are nested elements, recurse through the children / nest
-      if (numChildren > 0){
-        for (int j = 0; j < numChildren; j++){
-          getVertices(child.getChild(j), verts);
-        }
-      }
-      else{
-        // If we have reached the last child, append the its vertices to the Array
-        for (int k = 0; k < child.getVertexCount(); k++){
-          pushVert(child.getVertex(k));
-        }
-      }
+  // FACES
+  // The triangles as loaded from the model
+  public void faces(IntList faces){
+    for (int k = 0; k < indices.length; k++){
+      faces.append(indices[k]);
     }
   }
 } // End of Model class
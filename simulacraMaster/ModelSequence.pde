@@ -15,10 +15,27 @@ String sequenceName = "simpleWalk";
 int frameCounter = 1;
 int frameAmount = 51;
 
+// Every frame of the sequence, parsed once the first time the sequence is shown
+ObjMesh[] sequenceFrames;
+String sequenceFramesName;
+
+// Return the parsed model of the given frame, parsing the whole sequence first if it hasn't been already
+ObjMesh sequenceFrame(int frame){
+  if (sequenceFrames == null || !sequenceName.equals(sequenceFramesName) || sequenceFrames.length != frameAmount){
+    sequenceFrames = new ObjMesh[frameAmount];
+    for (int f = 1; f < frameAmount; f++){
+      sequenceFrames[f] = loadObjMesh(sequenceName + "/" + f + ".obj");
+    }
+    sequenceFramesName = sequenceName;
+  }
+  return sequenceFrames[frame];
+}
+
 public class ModelSequence extends Artifact{  // ModelSequence is a type of Artifact
 
   // PROPERTIES
-  PShape importedModel;
+  // The sequence the vertices were copied from
+  String loadedName;
 
   // CONSTRUCTOR
   ModelSequence(){
@@ -30,27 +47,38 @@ public class ModelSequence extends Artifact{  // ModelSequence is a type of Arti
   public void setup(){
 
     // Initialise the empty array
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
 
-    // Load the specified 3D model by appending the current frame number
-    importedModel = loadShape(sequenceName + "/" + frameCounter + ".obj");
+    // Copy the current frame out of the parsed sequence, so no files are read after the first loop
+    loadedName = sequenceName;
+    ObjMesh mesh = sequenceFrame(frameCounter);
+    if (mesh == null) return;
 
-    // Calls a function to return all vertices of the model
-    getVertices(importedModel, vertices);
+    // Add the three corners of every triangle in turn
+    for (int k = 0; k < mesh.indices.length; k++){
+      int v = mesh.indices[k] * 3;
+      pushVert(mesh.positions[v], mesh.positions[v + 1], mesh.positions[v + 2]);
+    }
   }
 
-  // DRAW
-  public void draw(PGraphics pg, int it){
+  // TOPOLOGY
+  // animate() advances the frame counter, so the next model in the sequence is copied in every frame
+  public float[] topologyParams(){
+    return new float[] { frameCounter };
+  }
 
-    // Draw each vertex in the array as TRIANGLES, as long as the models are triangulated
-    pushTransform(pg);
-    pg.beginShape(TRIANGLES);
-    for (int i = 0; i < vertices.size(); i++){
-      PVector p = vertices.get(i).position;
-      pg.vertex(p.x, p.y, p.z);
-    }
-    pg.endShape();
-    popTransform(pg);
+  // Or when a different sequence is chosen
+  public boolean isDirty(){
+    return !sequenceName.equals(loadedName) || super.isDirty();
+  }
+
+  // Each frame copies in the next model of the sequence
+  public boolean canExportInParallel(){
+    return false;
+  }
+
+  // ANIMATE
+  public void animate(int it){
 
     // Advance the frame number
     frameCounter++;
@@ -61,26 +89,26 @@ public class ModelSequence extends Artifact{  // ModelSequence is a type of Arti
     }
   }
 
-  void getVertices(PShape shape, ArrayList<Vert> verts){
-
-    // For each face in the current mesh
-    for (int i = 0; i < shape.getChildCount(); i++){
-
-      PShape child = shape.getChild(i);
-      int numChildren = child.getChildCount();
-
-      // if there are nested elements, recurse through the children / nest
-      if (numChildren > 0){
-        for (int j = 0; j < numChildren; j++){
-          getVertices(child.getChild(j), verts);
-        }
-      }
-      else{
-        // If we have reached the last child, append the its vertices to the Array
-        for (int k = 0; k < child.getVertexCount(); k++){
-          pushVert(child.getVertex(k));
-        }
-      }
+  // DRAW
+  public void draw(PGraphics pg, int it){
+
+    // Draw each vertex in the array as TRIANGLES
+    pushTransform(pg);
+    pg.beginShape(TRIANGLES);
+    for (int i = 0; i < vertices.count; i++){
+      pg.vertex(vertices.x[i], vertices.y[i], vertices.z[i]);
+    }
+    pg.endShape();
+    popTransform(pg);
+  }
+
+  // FACES
+  // Every three vertices make a triangle
+  public void faces(IntList faces){
+    for (int i = 0; i + 2 < vertices.count; i += 3){
+      faces.append(i);
+      faces.append(i + 1);
+      faces.append(i + 2);
     }
   }
 } // End of the Model Sequence class
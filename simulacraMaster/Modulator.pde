@@ -0,0 +1,681 @@
+////////////////
+// MODULATORS //
+////////////////
+
+// Modulators are the core of the animations. Every vertex's current position is created by generating a
+// modulation value and adding it to the vertex's initial position.
+//
+// Each modulator processes a whole range of the vertex buffer per call, reading the initial positions and
+// writing the current positions. The active modulator is chosen at runtime from the GUI, and vertex ranges
+// may be modulated on several threads at once, so modulators read the GUI values from the FrameParams
+// snapshot rather than the globals.
+//
+// The most important variables for noise modulation are the 'scale' and 'radius' sliders. Scale changes
+// the size of the area to draw noise from, radius increases and decreases the the speed of modulation by
+// drawing smaller/larger circles in noise space.
+//
+// the Brownian noise modulator has it's own unique controls for amplitude, frequency and persistence.
+
+interface Modulator{
+
+  // The name shown in the GUI
+  String name();
+
+  // Modulate the vertices from 'from' up to (but not including) 'to'
+  void modulate(VertexBuffer v, int from, int to, FrameParams p);
+}
+
+// Modulators which must only run on one thread at a time, so their vertices are never split across the
+// update pool and their sequences are never exported in parallel
+interface SingleThreadedModulator extends Modulator{
+}
+
+// Every available modulator, in the order they appear in the GUI.
+// Some work well with some shapes, and not with others.
+Modulator[] modulators = {
+  new SimplexMod(),
+  new RipplesMod(),
+  new FloorMod(),
+  new HeadMod(),
+  new BulgeMod(),
+  new SourMod(),
+  new DepressingMod(),
+  new TurbulenceMod(),
+  new BrownianSimplexMod(),
+  new BrownianRidgedMod(),
+  new SheetsMod(),
+  new SquidgerMod(),
+  new SinkMod(),
+  new PerlinMod()
+};
+
+// The index of the modulator currently in use
+int modulatorIndex = 0;
+
+// Sample the looping noise in single precision, faster but not identical to the double precision noise
+boolean bFloatNoise = false;
+
+// Evaluate the looping noise for a range of vertices into the buffer's noise array
+void loopNoise(VertexBuffer v, float[] xs, float[] ys, float scale, FrameParams p, int from, int to){
+  if (p.floatNoise){
+    simplexNoiseFloat.eval(xs, ys, scale, p.nz, p.nw, v.noiseFloat, from, to);
+    for (int k = from; k < to; k++) v.noise[k] = v.noiseFloat[k];
+  }
+  else {
+    simplexNoise.eval(xs, ys, scale, p.nz, p.nw, v.noise, from, to);
+  }
+}
+
+// Evaluate the looping noise at (scale * x, scale * y) for a range of vertices, reading it from the
+// loop cache instead if this frame of the loop has already been sampled
+void sampleNoise(VertexBuffer v, FrameParams p, int from, int to){
+  LoopNoiseCache cache = p.cache;
+  if (cache != null && cache.has(p.frame)){
+    cache.read(p.frame, v.noise, from, to);
+    return;
+  }
+
+  loopNoise(v, v.initX, v.initY, p.scale, p, from, to);
+  if (cache != null) cache.write(p.frame, v.noise, from, to);
+}
+
+// Whether the modulator can modulate several ranges of vertices, or several frames, at once
+boolean canModulateInParallel(Modulator m){
+  return !(m instanceof SingleThreadedModulator);
+}
+
+String[] modulatorNames(){
+  String[] names = new String[modulators.length];
+  for (int i = 0; i < modulators.length; i++) names[i] = modulators[i].name();
+  return names;
+}
+
+// Create a looping noise formula using 4D Simplex noise
+// This algorithm draws a circle in noise space to enable the values to return to the beginning and loop.
+// This is the core basis for animation used in Simulacra
+
+// Looping Simplex Noise by Etienne Jacob - https://necessarydisorder.wordpress.com/2017/11/15/drawing-from-noise-and-then-making-animated-loopy-gifs-from-there/
+// An example GIF by Golan Levin can be found here;
+// https://giphy.com/gifs/loop-processing-noise-xUOxeU2ELSPeTbevle
+
+class SimplexMod implements Modulator{
+
+  public String name(){
+    return "simplex";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+
+      if (p.animated){
+        if (p.toggleX) rx = map2(ns, -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry = map2(ns, -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleZ) rz = map2(ns, -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        if (p.toggleX) rx = map(ns, -1, 1, -p.xSlider, p.xSlider);
+        if (p.toggleY) ry = map(ns, -1, 1, -p.ySlider, p.ySlider);
+        if (p.toggleZ) rz = map(ns, -1, 1, -p.zSlider, p.zSlider);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+// Ripple Mod
+// This modulator uses a combination of Simplex noise and the distance function to obscure the original noise pattern
+// Tends to work best on flat shapes such as Planes and Hyperbolic Paraboloids
+class RipplesMod implements Modulator{
+
+  public String name(){
+    return "ripples";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+
+      float rippler = map(ns, -1, 1, 0, p.mod2);
+      float xPos = map(ns, -1, 1, 0, p.mod1);
+      float yPos = map(ns, -1, 1, 0, p.mod1);
+      float distance = dist(rx, ry, px / xPos, py / yPos);
+      float result = (rippler + distance);
+
+      if (p.animated){
+        rx = map2(sin(result), -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        ry = map2(sin(result), -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+        rz = map2(sin(result), -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        rx = map2(sin(result), -1, 1, 0, p.xSlider, QUADRATIC, EASE_IN_OUT);
+        ry = map2(sin(result), -1, 1, 0, p.ySlider, QUADRATIC, EASE_IN_OUT);
+        rz = map2(sin(result), -1, 1, 0, p.zSlider, QUADRATIC, EASE_IN_OUT);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+// Turbulent Noise Mod
+// Reference - https://lodev.org/cgtutor/randomnoise.html
+class TurbulenceMod implements Modulator{
+
+  public String name(){
+    return "turbulence";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    float n = map(p.t, -1, 1, -p.mod2, p.mod2);
+    float scale = p.scale;
+
+    // The noise z offset and w value are the same for every vertex
+    float zDiv = p.mod1/10;
+    float zOff = (p.mod2/10) * n;
+    float nw = p.radius * cos(TWO_PI * n);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float pz = v.initZ[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float value = 0;
+      float size = 12;
+      float initialSize = size;
+
+      // Calculate turbulence
+      while (size > 1){
+        value += (float)simplexNoise.eval(px * scale, py * scale, pz / zDiv + zOff, nw) * size;
+        size /= 4.0;
+      }
+
+      float result = (p.mod2/10) * value / initialSize;
+
+      if (p.toggleX) rx += map(result, -1, 1, -p.xSlider, p.xSlider);
+      if (p.toggleY) ry += map(result, -1, 1, -p.ySlider, p.ySlider);
+      if (p.toggleZ) rz += map(result, -1, 1, -p.zSlider, p.zSlider);
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+// Squidge mod - A modulator for creating squishy interactions
+class SquidgerMod implements Modulator{
+
+  public String name(){
+    return "squidger";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+
+      float rippler = map(ns, -1, 1, 0, p.mod2);
+      float xPos = map(ns, -1, 1, -(p.mod1/5), (p.mod1/5));
+      float yPos = map(ns, -1, 1, -(p.mod2/5), (p.mod2/5));
+      float distance = dist(rx, ry, px / xPos, py / yPos);
+      float result = 100 / (rippler + distance);
+
+      if (p.toggleX) rx += map(result, -1, 1, -(p.xSlider/4), (p.xSlider/4));
+      if (p.toggleY) ry += map(result, -1, 1, -(p.ySlider/4), (p.ySlider/4));
+      if (p.toggleZ) rz += map(result, -1, 1, -(p.zSlider/4), (p.zSlider/4));
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class SinkMod implements Modulator{
+
+  public String name(){
+    return "sink";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    int i = p.frame;
+
+    float poker = map(sin(p.t * 2.0), -1, 1, p.mod1, p.mod1);
+    float spiroX = map(sin(i * 0.2), -1, 1, p.mod2, -p.mod2);
+    float spiroY = map(cos(i * 0.2), -1, 1, -p.mod2, p.mod2);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float spiroDist = dist(rx, ry, px + spiroX, py + spiroY);
+      float result = 100 / (poker + spiroDist);
+
+      if (p.toggleX) rx = map(result, 0, 25, -p.xSlider, p.xSlider);
+      if (p.toggleY) ry = map(result, 0, 25, -p.ySlider, p.ySlider);
+      if (p.toggleZ) rz = map(result, 0, 25, -p.zSlider, p.zSlider);
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+// Brownian Simplex Modulator
+// Reference - https://cmaher.github.io/posts/working-with-simplex-noise/
+class BrownianSimplexMod implements Modulator{
+
+  public String name(){
+    return "brownian";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    int num_iterations = p.octaveFreq.length;
+
+    // The current positions are used to sum the iterations, one octave of the whole range at a time
+    for (int k = from; k < to; k++){
+      v.x[k] = 0;
+      v.y[k] = 0;
+      v.z[k] = 0;
+    }
+
+    //add successively smaller, higher-frequency terms
+    for(int i = 0; i < num_iterations; i++){
+      float amp = p.octaveAmp[i];
+      loopNoise(v, v.initX, v.initY, p.octaveFreq[i], p, from, to);
+
+      for (int k = from; k < to; k++){
+        float ns = (float)v.noise[k] * amp;
+
+        if (p.animated){
+          v.z[k] += map2(ns, -1, 1, p.zMin/10, p.zMax/10, QUADRATIC, EASE_IN_OUT);
+          v.x[k] += map2(ns, -1, 1, p.xMin/10, p.xMax/10, QUADRATIC, EASE_IN_OUT);
+          v.y[k] += map2(ns, -1, 1, p.yMin/10, p.yMax/10, QUADRATIC, EASE_IN_OUT);
+        }
+        else {
+          v.z[k] += map(ns, -1, 1, 0, p.zSlider);
+          v.x[k] += map(ns, -1, 1, 0, p.xSlider);
+          v.y[k] += map(ns, -1, 1, 0, p.ySlider);
+        }
+      }
+    }
+
+    for (int k = from; k < to; k++){
+      float rx = v.x[k], ry = v.y[k], rz = v.z[k];
+
+      //take the average value of the iterations
+      rz /= p.maxAmp;
+
+      //normalize the result
+      if (p.toggleX) rx = rx * (255 - 0) / 2 + (255 + 0) / 2;
+      if (p.toggleY) ry = ry * (255 - 0) / 2 + (255 + 0) / 2;
+      if (p.toggleZ) rz = rz * (255 - 0) / 2 + (255 + 0) / 2;
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+// Brownian Ridged Modulator
+// An extensive of the Brownian noise mod.
+// Reference - https://cmaher.github.io/posts/working-with-simplex-noise/
+class BrownianRidgedMod implements Modulator{
+
+  public String name(){
+    return "ridged";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    int num_iterations = p.octaveFreq.length;
+
+    // The current positions are used to sum the iterations, one octave of the whole range at a time
+    for (int k = from; k < to; k++){
+      v.x[k] = 0;
+      v.y[k] = 0;
+      v.z[k] = 0;
+    }
+
+    //add successively smaller, higher-frequency terms, with a different noise value for each axis
+    for(int i = 0; i < num_iterations; i++){
+      float freq = p.octaveFreq[i];
+      float amp = p.octaveAmp[i];
+
+      loopNoise(v, v.initX, v.initY, freq, p, from, to);
+      for (int k = from; k < to; k++) v.z[k] += v.noise[k] * amp;
+
+      loopNoise(v, v.initX, v.initZ, freq, p, from, to);
+      for (int k = from; k < to; k++) v.x[k] += v.noise[k] * amp;
+
+      loopNoise(v, v.initY, v.initZ, freq, p, from, to);
+      for (int k = from; k < to; k++) v.y[k] += v.noise[k] * amp;
+    }
+
+    for (int k = from; k < to; k++){
+      float rx = v.x[k], ry = v.y[k], rz = v.z[k];
+
+      // Average the iterations
+      rz /= p.maxAmp;
+
+      // Normalise the result
+      if (p.toggleX) rx = abs(map(rx, -1, 1, 0, p.xSlider));
+      if (p.toggleY) ry = abs(map(ry, -1, 1, 0, p.ySlider));
+      if (p.toggleZ) rz = abs(map(rz, -1, 1, 0, p.zSlider));
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class SheetsMod implements Modulator{
+
+  public String name(){
+    return "sheets";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+
+      float rippler = map(ns, -1, 1, -p.mod2, p.mod2);
+      float xPos = map(ns, -1, 1, 0, p.xSlider);
+      float yPos = map(ns, -1, 1, 0, p.ySlider);
+      float distance = dist(rx, ry, px / xPos, py / yPos);
+      float result = (p.mod1 * 10) / (rippler + distance);
+
+      if (p.animated){
+        if (p.toggleX) rx = map2(result, -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry = map2(result, -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleZ) rz = map2(result, -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        if (p.toggleX) rx = map(result, -1, 1, 0, p.xSlider);
+        if (p.toggleY) ry = map(result, -1, 1, 0, p.ySlider);
+        if (p.toggleZ) rz = map(result, -1, 1, 0, p.zSlider);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class FloorMod implements Modulator{
+
+  public String name(){
+    return "floor";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    float rippler = map(sin(p.t), -1, 1, 170, 85);
+    float rad = map(sin(p.t), -1, 1, -p.mod1, p.mod1);
+    float spiroX = map(sin(p.t), -1, 1, -rad, rad);
+    float spiroY = map(cos(p.t), -1, 1, rad, -rad);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 50, rz = 0;
+
+      float spiroDist = dist(rx, ry, px + spiroX, py + spiroY);
+      float result = 100 / (rippler + spiroDist);
+
+      if (p.animated){
+        if (p.toggleZ) rz += map2(result, -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleX) rx += map2(result, -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry += map2(result, -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        if (p.toggleX) rx += map(result, -1, 1, p.xSlider, 0);
+        if (p.toggleY) ry += map(result, -1, 1, p.ySlider, 0);
+        if (p.toggleZ) rz += map(result, -1, 1, p.zSlider, 0);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class HeadMod implements Modulator{
+
+  public String name(){
+    return "head";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+
+      float rippler = map(ns, -1, 1, -10, 10);
+      float rad = map(sin(ns), -1, 1, -1, 1);
+      float noiseDist = dist(rx, ry, px / map(ns, -1, 1, -rad/2, rad/2), py / map(ns, -1, 1, rad/2, -rad/2));
+      float result = 300 / (rippler + noiseDist);
+
+      if (p.animated){
+        if (p.toggleZ) rz += map2(result, -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleX) rx += map2(result, -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry += map2(result, -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        if (p.toggleX) rx = map(result, -1, 1, -p.xSlider, p.xSlider);
+        if (p.toggleY) ry = map(result, -1, 1, -p.ySlider, p.ySlider);
+        if (p.toggleZ) rz = map(result, -1, 1, -p.zSlider, p.zSlider);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class SourMod implements Modulator{
+
+  public String name(){
+    return "sour";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      // Generate a looping noise value
+      float ns = (float)v.noise[k];
+
+      float noiseDist = dist(rx, ry, px + ns , py + ns);
+      float result = 128.0 * ns / noiseDist;
+
+      if (p.animated){
+        if (p.toggleX) rx = map2(result, 0.8, 2, p.xMin/20, p.xMax/20, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry = map2(result, 0.8, 2, p.yMin/20, p.yMin/20, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleZ) rz = map2(result, 0.8, 2, p.zMin/20, p.zMin/20, QUADRATIC, EASE_IN_OUT);
+      }
+      else{
+        if (p.toggleX) rx = map(result, 0.8, 2, -p.xSlider, p.xSlider);
+        if (p.toggleY) ry = map(result, 0.8, 2, -p.ySlider, p.ySlider);
+        if (p.toggleZ) rz = map(result, 0.8, 2, -p.zSlider, p.zSlider);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class BulgeMod implements Modulator{
+
+  public String name(){
+    return "bulge";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+      float poker = map(sin(ns), -1, 1, 0, p.mod2);
+      float centreDist = dist(px + map(ns, -1, 1, -p.mod1, p.mod1), py + map(ns, -1, 1, -p.mod1, p.mod1), rx, ry);
+      float result = 100 / (poker + centreDist);
+
+      if (p.animated){
+        if (p.toggleZ) rz += map2(result, -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleX) rx += map2(result, -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry += map2(result, -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        if (p.toggleX) rx = map(result, 0, 3, -p.xSlider, p.xSlider);
+        if (p.toggleY) ry = map(result, 0, 3, -p.ySlider, p.ySlider);
+        if (p.toggleZ) rz = map(result, 0, 3, -p.zSlider, p.zSlider);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+class DepressingMod implements Modulator{
+
+  public String name(){
+    return "depressing";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    // Evaluate the noise for the whole range at once
+    sampleNoise(v, p, from, to);
+
+    for (int k = from; k < to; k++){
+      float px = v.initX[k];
+      float py = v.initY[k];
+      float rx = 0, ry = 0, rz = 0;
+
+      float ns = (float)v.noise[k];
+
+      float rippler = map(ns, -1, 1, 0, p.mod1);
+      float rad = map(ns, -1, 1, -p.mod2, p.mod2);
+      float noiseDist = dist(px, py, rx + map(sin(ns), -1, 1, -rad, rad), ry + map(cos(ns), -1, 1, -rad, rad));
+      float result = 100 / (rippler + noiseDist);
+
+      if (p.animated){
+        if (p.toggleZ) rz += map2(result, -1, 1, p.zMin, p.zMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleX) rx += map2(result, -1, 1, p.xMin, p.xMax, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) ry += map2(result, -1, 1, p.yMin, p.yMax, QUADRATIC, EASE_IN_OUT);
+      }
+      else if (!p.animated){
+        if (p.toggleZ) rz += map2(result, -1, 1, -p.zSlider, p.zSlider, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleX) rx += map2(result, -1, 1, -p.ySlider, p.ySlider, QUADRATIC, EASE_IN_OUT);
+        if (p.toggleY) rz += map2(result, -1, 1, -p.ySlider, p.ySlider, QUADRATIC, EASE_IN_OUT);
+      }
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
+
+// A basic noise modulator using the built in Perlin noise in Processing.
+// noise() builds its tables the first time it is called and is not safe to call from several threads.
+class PerlinMod implements SingleThreadedModulator{
+
+  public String name(){
+    return "perlin";
+  }
+
+  public void modulate(VertexBuffer v, int from, int to, FrameParams p){
+
+    float scale = p.scale;
+
+    for (int k = from; k < to; k++){
+      float rx = 0, ry = 0, rz = 0;
+
+      float nsX = noise(scale * v.initX[k]);
+      float nsY = noise(scale * v.initY[k]);
+      float nsZ = noise(scale * v.initZ[k]);
+
+      float zPos = map(nsX, -1, 1, -p.zSlider, p.zSlider);
+      float xPos = map(nsY, -1, 1, -p.xSlider, p.xSlider);
+      float yPos = map(nsZ, -1, 1, -p.ySlider, p.ySlider);
+
+      if (p.toggleY) ry = yPos;
+      if (p.toggleX) rx = xPos;
+      if (p.toggleZ) rz = zPos;
+
+      v.x[k] = v.initX[k] + rx;
+      v.y[k] = v.initY[k] + ry;
+      v.z[k] = v.initZ[k] + rz;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+//////////////
+// OBJ MESH //
+//////////////
+
+// Reads the positions and faces of an .obj file into flat arrays, without creating a PShape.
+// Only 'v' and 'f' lines are read, texture coordinates, normals, groups and materials are skipped.
+// Faces with more than three corners are split into triangles around their first corner.
+
+// Load an .obj file from the data folder, returns null if the file can't be read
+ObjMesh loadObjMesh(String path){
+  byte[] data = loadBytes(path);
+  if (data == null) return null;
+  return new ObjMesh(data);
+}
+
+class ObjMesh{
+
+  // PROPERTIES
+  // x, y, z of every vertex in the file, in order
+  float[] positions;
+  int vertexCount;
+
+  // Three indices into the positions per triangle, counting from 0
+  int[] indices;
+
+  // The token being read
+  int at, tokenStart, tokenEnd;
+
+  // CONSTRUCTOR
+  ObjMesh(byte[] data){
+    FloatList pos = new FloatList();
+    IntList tris = new IntList();
+    IntList corners = new IntList();
+
+    int lineStart = 0;
+    while (lineStart < data.length){
+      int lineEnd = lineStart;
+      while (lineEnd < data.length && data[lineEnd] != '\n') lineEnd++;
+
+      at = lineStart;
+      if (nextToken(data, lineEnd)){
+        int len = tokenEnd - tokenStart;
+
+        // Vertex position
+        if (len == 1 && data[tokenStart] == 'v'){
+          for (int axis = 0; axis < 3; axis++){
+            pos.append(nextToken(data, lineEnd) ? tokenFloat(data) : 0);
+          }
+        }
+        // Face, as a fan of triangles
+        else if (len == 1 && data[tokenStart] == 'f'){
+          corners.clear();
+          while (nextToken(data, lineEnd)) corners.append(tokenIndex(data, pos.size() / 3));
+
+          for (int k = 1; k + 1 < corners.size(); k++){
+            tris.append(corners.get(0));
+            tris.append(corners.get(k));
+            tris.append(corners.get(k + 1));
+          }
+        }
+      }
+
+      lineStart = lineEnd + 1;
+    }
+
+    positions = pos.array();
+    vertexCount = positions.length / 3;
+    indices = tris.array();
+  }
+
+  // Skip to the next token on the line, returning false once the line is finished
+  boolean nextToken(byte[] data, int lineEnd){
+    while (at < lineEnd && isSpace(data[at])) at++;
+    if (at >= lineEnd) return false;
+
+    tokenStart = at;
+    while (at < lineEnd && !isSpace(data[at])) at++;
+    tokenEnd = at;
+    return true;
+  }
+
+  boolean isSpace(byte b){
+    return b == ' ' || b == '\t' || b == '\r';
+  }
+
+  float tokenFloat(byte[] data){
+    return Float.parseFloat(new String(data, tokenStart, tokenEnd - tokenStart));
+  }
+
+  // The position index of a face corner such as '3', '3/1' or '3/1/1'.
+  // Indices start at 1, negative indices count back from the last position read.
+  int tokenIndex(byte[] data, int count){
+    int k = tokenStart;
+    boolean negative = data[k] == '-';
+    if (negative) k++;
+
+    int value = 0;
+    while (k < tokenEnd && data[k] >= '0' && data[k] <= '9'){
+      value = value * 10 + (data[k] - '0');
+      k++;
+    }
+    return negative ? count - value : value - 1;
+  }
+
+  int triangleCount(){
+    return indices.length / 3;
+  }
+
+} // End of ObjMesh class
@@ -0,0 +1,139 @@
+////////////////
+// OBJ WRITER //
+////////////////
+
+// Writes an Artifact straight to an .obj file, without drawing it through the OBJExport renderer.
+// Every vertex in the buffer is written once as a 'v' line, and the faces index into them using the
+// topology each shape reports in faces(), so vertices shared by neighbouring triangles aren't repeated.
+//
+// Lines are formatted by hand into a ByteBuffer and written to a FileChannel whenever it fills.
+
+// PROPERTIES
+// Disable to export through the OBJExport renderer instead
+boolean bNativeObj = true;
+
+class ObjWriter{
+
+  // PROPERTIES
+  FileChannel channel;
+  ByteBuffer buffer;
+
+  // Scratch space for formatting numbers
+  byte[] digits = new byte[20];
+
+  // The number of decimal places written for each coordinate
+  final int decimals = 6;
+  final long precision = 1000000L;
+
+  // Coordinates this large or larger are written by Float.toString(), as they can't be scaled into a long
+  final float largest = 1000000000000.0;
+
+  // The most bytes a coordinate can take, a sign, 12 whole digits, '.' and 6 decimals.
+  // Float.toString() is never longer, such as "-3.4028235E38" or "-Infinity".
+  final int maxFloatBytes = 20;
+
+  // CONSTRUCTOR
+  ObjWriter(String path) throws IOException{
+    File file = new File(savePath(path));
+    createPath(file.getAbsolutePath());
+    channel = new FileOutputStream(file).getChannel();
+    buffer = ByteBuffer.allocate(1 << 16);
+  }
+
+  // Write the shape's current vertices and faces, transformed by the given matrix
+  void write(VertexBuffer vertices, IntList faces, PMatrix3D matrix) throws IOException{
+    for (int i = 0; i < vertices.count; i++){
+      float x = vertices.x[i];
+      float y = vertices.y[i];
+      float z = vertices.z[i];
+
+      // 'v', then a space and a coordinate three times, then the newline
+      ensure(1 + 3 * (1 + maxFloatBytes) + 1);
+      buffer.put((byte)'v');
+      buffer.put((byte)' ');
+      writeFloat(matrix.multX(x, y, z));
+      buffer.put((byte)' ');
+      writeFloat(matrix.multY(x, y, z));
+      buffer.put((byte)' ');
+      writeFloat(matrix.multZ(x, y, z));
+      buffer.put((byte)'\n');
+    }
+
+    // OBJ indices start at 1
+    for (int i = 0; i + 2 < faces.size(); i += 3){
+      ensure(40);
+      buffer.put((byte)'f');
+      buffer.put((byte)' ');
+      writeLong(faces.get(i) + 1);
+      buffer.put((byte)' ');
+      writeLong(faces.get(i + 1) + 1);
+      buffer.put((byte)' ');
+      writeLong(faces.get(i + 2) + 1);
+      buffer.put((byte)'\n');
+    }
+  }
+
+  void close() throws IOException{
+    flush();
+    channel.close();
+  }
+
+  // Make room for a line in the buffer
+  void ensure(int bytes) throws IOException{
+    if (buffer.remaining() < bytes) flush();
+  }
+
+  void flush() throws IOException{
+    buffer.flip();
+    while (buffer.hasRemaining()) channel.write(buffer);
+    buffer.clear();
+  }
+
+  // Write a float rounded to 'decimals' places, dropping any trailing zeros.
+  // NaN and infinity are written as they are, as OBJExport did, so a broken modulation shows in the file.
+  void writeFloat(float f){
+    if (Float.isNaN(f) || Float.isInfinite(f) || Math.abs(f) >= largest){
+      writeString(Float.toString(f));
+      return;
+    }
+
+    long scaled = Math.round(Math.abs((double)f) * precision);
+    if (f < 0 && scaled != 0) buffer.put((byte)'-');
+
+    writeLong(scaled / precision);
+
+    long fraction = scaled % precision;
+    if (fraction == 0) return;
+
+    // Drop the trailing zeros, then pad with leading zeros to the number of decimal places
+    int places = decimals;
+    while (fraction % 10 == 0){
+      fraction /= 10;
+      places--;
+    }
+
+    buffer.put((byte)'.');
+    int n = 0;
+    while (n < places){
+      digits[n++] = (byte)('0' + fraction % 10);
+      fraction /= 10;
+    }
+    while (n > 0) buffer.put(digits[--n]);
+  }
+
+  // Write a string of ASCII characters
+  void writeString(String s){
+    for (int i = 0; i < s.length(); i++) buffer.put((byte)s.charAt(i));
+  }
+
+  // Write a positive whole number
+  void writeLong(long value){
+    int n = 0;
+    do {
+      digits[n++] = (byte)('0' + value % 10);
+      value /= 10;
+    } while (value > 0);
+    while (n > 0) buffer.put(digits[--n]);
+  }
+
+} // End of ObjWriter class
@@ -69,6 +69,15 @@ public class OpenSimplexNoise {
 		}
 	}
 
+	//The permutation table and 4D gradients, for evaluating the same noise elsewhere such as in a shader.
+	public short[] getPerm() {
+		return perm;
+	}
+
+	public static byte[] getGradients4D() {
+		return gradients4D;
+	}
+
 	//2D OpenSimplex Noise.
 	public double eval(double x, double y) {
 
@@ -2059,6 +2068,20 @@ public class OpenSimplexNoise {
 		return value / NORM_CONSTANT_4D;
 	}
 
+	//4D OpenSimplex Noise for a batch of points where only x and y vary, as when drawing a looping
+	//circle through noise space with z and w fixed for the frame.
+	//Evaluates the points from index 'from' up to (but not including) 'to', writing each value to out.
+	//The coordinates are scaled in float precision and then passed to eval(x, y, z, w) one at a time, so
+	//each value is identical to calling it directly. Nothing is shared between points: z and w are summed
+	//with x and y in the first step, so taking them out of the loop would change the rounding.
+	public void eval(float[] x, float[] y, float scale, double z, double w, double[] out, int from, int to) {
+		for (int i = from; i < to; i++) {
+			float sx = scale * x[i];
+			float sy = scale * y[i];
+			out[i] = eval(sx, sy, z, w);
+		}
+	}
+
 	private double extrapolate(int xsb, int ysb, double dx, double dy)
 	{
 		int index = perm[(perm[xsb & 0xFF] + ysb) & 0xFF] & 0x0E;
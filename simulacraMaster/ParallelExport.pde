@@ -0,0 +1,105 @@
+/////////////////////
+// PARALLEL EXPORT //
+/////////////////////
+
+// Exports an OBJ sequence with a worker thread per core. The frames are split into one range per worker,
+// and each worker builds its own copy of the shape so nothing is shared while updating and drawing.
+//
+// The only state carried from one frame to the next is the rotation, so each worker winds its shape's
+// rotation forward to the start of its range by repeating the same additions update() makes. The files
+// are identical to the ones the serial export writes. Binary sequences are exported the same way, with each
+// worker writing its frames into their own place in the file.
+//
+// Shapes that change from one frame to the next in other ways (animation mode, the Grey Scott
+// simulation, sequences and random geometry) are always exported serially, see canExportInParallel().
+
+// PROPERTIES
+// Disable to always export one frame after another
+boolean bParallelExport = true;
+
+// The number of frames exported at once
+int exportThreads = Runtime.getRuntime().availableProcessors();
+
+// Export 'frames' frames of the given shape, starting at frame 'start' of the loop.
+// Frames are written as .obj files, or into the binary sequence if one is given.
+void exportSequenceParallel(Artifact source, String fileName, MeshSequenceWriter binary, int start, int frames){
+  int threads = max(1, min(exportThreads, frames));
+
+  // Build the shapes first, falling back to a serial export if the shape can't be copied
+  Artifact[] shapes = new Artifact[threads];
+  for (int t = 0; t < threads; t++){
+    shapes[t] = createArtifact();
+    if (shapes[t] == null || shapes[t].getClass() != source.getClass()){
+      source.exportSequenceSerial(fileName, start, binary);
+      return;
+    }
+  }
+
+  AtomicInteger done = new AtomicInteger();
+  ExecutorService pool = Executors.newFixedThreadPool(threads);
+  Future[] results = new Future[threads];
+
+  for (int t = 0; t < threads; t++){
+    int from = (int)((long)frames * t / threads);
+    int to = (int)((long)frames * (t + 1) / threads);
+    results[t] = pool.submit(new SequenceExportWorker(shapes[t], source.rotation, fileName, binary, start, from, to, frames, done));
+  }
+
+  try {
+    for (int t = 0; t < threads; t++) results[t].get();
+  }
+  catch (Exception e){
+    throw new RuntimeException("Sequence export failed", e);
+  }
+  finally {
+    pool.shutdownNow();
+  }
+
+  // Leave the shape rotated as if every frame had been exported serially
+  for (int n = 0; n < frames; n++) source.advanceRotation();
+}
+
+class SequenceExportWorker implements Runnable{
+
+  // PROPERTIES
+  final Artifact shape;
+  final PVector startRotation;
+  final String fileName;
+  final MeshSequenceWriter binary;
+  final int start, from, to, frames;
+  final AtomicInteger done;
+
+  // CONSTRUCTOR
+  SequenceExportWorker(Artifact shape, PVector startRotation, String fileName, MeshSequenceWriter binary, int start, int from, int to, int frames, AtomicInteger done){
+    this.shape = shape;
+    this.startRotation = startRotation.copy();
+    this.fileName = fileName;
+    this.binary = binary;
+    this.start = start;
+    this.from = from;
+    this.to = to;
+    this.frames = frames;
+    this.done = done;
+  }
+
+  public void run(){
+
+    // Never read from the loop cache, and modulate on this thread alone as every core is already exporting
+    shape.exporting = true;
+    shape.parallelVertices = false;
+
+    // Wind the rotation forward to the first frame of the range
+    shape.rotation.set(startRotation);
+    for (int n = 0; n < from; n++) shape.advanceRotation();
+
+    for (int len = from; len < to; len++){
+      int i = start + len;
+
+      shape.rebuild();
+      shape.update(i);
+      shape.exportSequenceFrame(fileName, binary, len, i);
+
+      println("Exported " + " " + fileName + nf(len, 4) + " (" + done.incrementAndGet() + "/" + frames + ")");
+    }
+  }
+} // End of SequenceExportWorker class
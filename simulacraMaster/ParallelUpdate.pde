@@ -0,0 +1,49 @@
+/////////////////////
+// PARALLEL UPDATE //
+/////////////////////
+
+// Every vertex is modulated using only its own position and the frame's parameters, so the vertex buffer
+// can be split into ranges and updated on every core at once.
+//
+// The range is halved recursively on a ForkJoinPool until it is smaller than 'parallelChunk', at which
+// point the range is passed to the frame's modulator.
+
+// PROPERTIES
+// Disable to update all vertices on the animation thread
+boolean bParallel = true;
+
+// The number of vertices a single task will update before splitting
+int parallelChunk = 4096;
+
+ForkJoinPool updatePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+class VertexUpdateTask extends RecursiveAction{
+
+  // PROPERTIES
+  final VertexBuffer buffer;
+  final FrameParams params;
+  final int from, to;
+
+  // CONSTRUCTOR
+  VertexUpdateTask(VertexBuffer buffer, FrameParams params, int from, int to){
+    this.buffer = buffer;
+    this.params = params;
+    this.from = from;
+    this.to = to;
+  }
+
+  protected void compute(){
+
+    // Small enough to update directly
+    if (to - from <= parallelChunk){
+      params.modulator.modulate(buffer, from, to, params);
+    }
+
+    // Otherwise split the range in half and update both halves in parallel
+    else {
+      int mid = (from + to) >>> 1;
+      invokeAll(new VertexUpdateTask(buffer, params, from, mid),
+                new VertexUpdateTask(buffer, params, mid, to));
+    }
+  }
+} // End of VertexUpdateTask class
@@ -18,7 +18,7 @@ public class Plane extends Artifact{  // Plane is a type of Artifact
   // override setup function to create a plane
   public void setup(){
 
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
     PVector tempVec = new PVector(0,0,0);
 
     for(int i = 0; i < planeWidth; i++){
@@ -32,6 +32,12 @@ public class Plane extends Artifact{  // Plane is a type of Artifact
     }
   }
 
+  // TOPOLOGY
+  // The plane is rebuilt when its size or resolution changes
+  public float[] topologyParams(){
+    return new float[] { planeWidth, planeHeight, planeRes, scl };
+  }
+
   // DRAW
   // override draw function to draw a plane
   public void draw(PGraphics pg, int it){
@@ -43,15 +49,29 @@ public class Plane extends Artifact{  // Plane is a type of Artifact
       pg.beginShape(TRIANGLE_STRIP);
       for(int j = 0; j < planeHeight - 1 ;j++){
 
-        PVector p = vertices.get( (i * planeWidth) + j ).position;
-        PVector p2 = vertices.get( ((i+1) * planeHeight) + j).position;
+        int a = (i * planeWidth) + j;
+        int b = ((i+1) * planeHeight) + j;
 
-        pg.vertex(p.x, p.y, p.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
       pg.endShape();
     }
     popTransform(pg);
 
   }
+
+  // FACES
+  // The same triangle strips as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for(int i = 0; i < planeWidth - 1; i++){
+      strip.clear();
+      for(int j = 0; j < planeHeight - 1; j++){
+        strip.append((i * planeWidth) + j);
+        strip.append(((i+1) * planeHeight) + j);
+      }
+      addStrip(faces, strip);
+    }
+  }
 } // End of Plane class
@@ -0,0 +1,172 @@
+///////////////////
+// RETAINED MESH //
+///////////////////
+
+// Draws an Artifact's triangles from buffers kept on the GPU, instead of sending every vertex through
+// beginShape() and vertex() to be tessellated again each frame. The triangles from faces() are uploaded
+// as an index buffer whenever the shape is rebuilt with a different topology. Each frame the positions
+// are copied into a direct FloatBuffer and uploaded in a single call.
+//
+// A retained PShape isn't used as setVertex() makes Processing tessellate the whole shape again.
+//
+// The mesh is drawn with the shaders in data/shaders, flat shaded and lit the same as lights(). When the
+// shape is modulated on the GPU the initial positions are uploaded instead, only when they change, and the
+// simplex shader displaces them (see GpuModulation.pde).
+// Wireframes, shapes drawn as points and renderers other than OpenGL (such as the OBJExport renderer)
+// still go through the shape's draw().
+
+// PROPERTIES
+// Disable to always draw shapes with beginShape() and vertex()
+boolean bRetained = true;
+
+// Shared by every retained mesh, loaded the first time one is drawn
+PShader retainedShader;
+
+class RetainedMesh{
+
+  // PROPERTIES
+  // The shape's triangles, three indices per triangle
+  int[] indices = new int[0];
+  boolean indicesChanged;
+
+  // The build and vertex count the indices were taken from
+  int build = -1;
+  int vertexCount = -1;
+
+  // x, y, z of every vertex, copied from the shape each frame
+  FloatBuffer positions;
+
+  // The version of the initial positions in the buffer object, or -1 if it holds the current positions
+  int uploadedInit = -1;
+
+  // Buffer objects, created the first time the mesh is drawn
+  int positionVbo, indexVbo;
+  int positionCapacity;
+  boolean created = false;
+
+  // Whether the shape can be drawn as a retained mesh with the renderer's current style
+  boolean canDraw(Artifact shape, PGraphics pg){
+    if (!(pg instanceof PGraphicsOpenGL) || pg.stroke || !pg.fill) return false;
+
+    updateTopology(shape);
+    return indices.length > 0;
+  }
+
+  // Draw the shape, returns false if it has to be drawn with its draw() instead
+  boolean draw(Artifact shape, PGraphics pg){
+    if (!canDraw(shape, pg)) return false;
+
+    PGraphicsOpenGL ogl = (PGraphicsOpenGL)pg;
+    if (retainedShader == null) retainedShader = loadShader("shaders/retained.frag", "shaders/retained.vert");
+
+    // The simplex shader displaces the initial positions, otherwise the current positions are drawn
+    FrameParams gpuParams = shape.gpuParams;
+    PShader shader = retainedShader;
+    boolean upload = true;
+
+    if (gpuParams != null){
+      shader = simplexShader();
+      setModulationUniforms(shader, gpuParams);
+
+      upload = uploadedInit != shape.vertices.initVersion;
+      if (upload) copyPositions(shape.vertices.initX, shape.vertices.initY, shape.vertices.initZ, shape.vertices.count);
+      uploadedInit = shape.vertices.initVersion;
+    }
+    else {
+      copyPositions(shape.vertices.x, shape.vertices.y, shape.vertices.z, shape.vertices.count);
+      uploadedInit = -1;
+    }
+
+    // The shape's transformations on top of the camera's
+    pg.pushMatrix();
+    pg.applyMatrix(shape.exportMatrix());
+    shader.set("meshTransform", ogl.projmodelview.get());
+    shader.set("meshModelview", ogl.modelview.get());
+    pg.popMatrix();
+
+    int c = pg.fillColor;
+    shader.set("meshColor", ((c >> 16) & 0xFF) / 255.0, ((c >> 8) & 0xFF) / 255.0, (c & 0xFF) / 255.0, ((c >> 24) & 0xFF) / 255.0);
+    shader.set("meshLit", ogl.lights ? 1.0 : 0.0);
+
+    PGL pgl = ogl.beginPGL();
+    if (!created) create(pgl);
+
+    if (indicesChanged){
+      IntBuffer data = ByteBuffer.allocateDirect(indices.length * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+      data.put(indices);
+      data.rewind();
+      pgl.bindBuffer(PGL.ELEMENT_ARRAY_BUFFER, indexVbo);
+      pgl.bufferData(PGL.ELEMENT_ARRAY_BUFFER, indices.length * 4, data, PGL.STATIC_DRAW);
+      indicesChanged = false;
+    }
+
+    // Only the positions are sent, growing the buffer object if the shape has
+    int bytes = shape.vertices.count * 3 * 4;
+    pgl.bindBuffer(PGL.ARRAY_BUFFER, positionVbo);
+    if (bytes > positionCapacity){
+      pgl.bufferData(PGL.ARRAY_BUFFER, bytes, positions, PGL.DYNAMIC_DRAW);
+      positionCapacity = bytes;
+    }
+    else if (upload){
+      pgl.bufferSubData(PGL.ARRAY_BUFFER, 0, bytes, positions);
+    }
+
+    shader.bind();
+    int position = pgl.getAttribLocation(shader.glProgram, "meshPosition");
+    pgl.enableVertexAttribArray(position);
+    pgl.vertexAttribPointer(position, 3, PGL.FLOAT, false, 3 * 4, 0);
+
+    pgl.bindBuffer(PGL.ELEMENT_ARRAY_BUFFER, indexVbo);
+    pgl.drawElements(PGL.TRIANGLES, indices.length, PGL.UNSIGNED_INT, 0);
+
+    pgl.disableVertexAttribArray(position);
+    pgl.bindBuffer(PGL.ARRAY_BUFFER, 0);
+    pgl.bindBuffer(PGL.ELEMENT_ARRAY_BUFFER, 0);
+    shader.unbind();
+    ogl.endPGL();
+
+    return true;
+  }
+
+  // Take the shape's triangles again if it has been rebuilt, only uploading them if they have changed
+  void updateTopology(Artifact shape){
+    if (shape.buildCount == build && shape.vertices.count == vertexCount) return;
+
+    IntList faces = new IntList();
+    shape.faces(faces);
+    int[] next = faces.array();
+
+    if (!Arrays.equals(next, indices)){
+      indices = next;
+      indicesChanged = true;
+    }
+    build = shape.buildCount;
+    vertexCount = shape.vertices.count;
+  }
+
+  void copyPositions(float[] x, float[] y, float[] z, int count){
+    int size = count * 3;
+    if (positions == null || positions.capacity() < size){
+      positions = ByteBuffer.allocateDirect(size * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    positions.clear();
+    for (int i = 0; i < count; i++){
+      positions.put(x[i]);
+      positions.put(y[i]);
+      positions.put(z[i]);
+    }
+    positions.flip();
+  }
+
+  void create(PGL pgl){
+    IntBuffer ids = IntBuffer.allocate(2);
+    pgl.genBuffers(2, ids);
+    positionVbo = ids.get(0);
+    indexVbo = ids.get(1);
+    positionCapacity = 0;
+    indicesChanged = true;
+    created = true;
+  }
+
+} // End of RetainedMesh class
@@ -25,7 +25,10 @@ public class Sphere extends Artifact{
   // override setup function to create a plane
   public void setup(){
     // Initialise the array
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
+
+    // The latest state of the reaction diffusion
+    float[] grid = bReaction ? gsSim.snapshot() : null;
 
     // Create an empty vector
     PVector tempVec = new PVector(0, 0, 0);
@@ -45,7 +48,7 @@ public class Sphere extends Artifact{
 
         // If using reaction diffusion, generate a grey scott value for each vertex and push to the array
         if (bReaction){
-          float cellValue = gs.v[(i * gsWidth) + j];
+          float cellValue = grid[(i * gsWidth) + j];
           float mod = map(cellValue, 0, -10, 0, greyScottAmt);
           pushVert(tempVec.x, tempVec.y, tempVec.z + mod);
           }
@@ -58,43 +61,36 @@ public class Sphere extends Artifact{
     }
   }
 
-  // DRAW
-  public void draw(PGraphics pg, int it){
-
-    // If using reaction diffusion...
-    if (bReaction) {
-      // Update the algorithm depending on the number of iterations set by the GUI
-      for(int i = 0; i < gsIterations; i++) gs.update(1);
-
-      // If we're in creature mode
-      if (bCreatures){
+  // TOPOLOGY
+  public float[] topologyParams(){
+    return new float[] { sphereRadius, sphereResW, sphereResH, greyScottAmt };
+  }
 
-        // Loop through each creature
-        for (int i = 0; i < creatures.length; i++){
-          // Assign it an empty vector
-          creatures[i] = new PVector(0,0,0);
+  // The reaction diffusion values change every frame, so rebuild whenever it is running
+  public boolean isDirty(){
+    return bReaction || super.isDirty();
+  }
 
-          // Generate an X & Y position value based on a looping simplex noise algorithm
-          creatures[i].x = (float)simplexNoise.eval((it + (i*100)) * 0.004, (it + (i*200)) * 0.005);
-          creatures[i].y = (float)simplexNoise.eval((it + (i*200)) * 0.004, (it + (i*300)) * 0.005);
-          creatures[i].z = 0;
+  // ANIMATE
+  // Step the reaction diffusion, and keep the strips aligned with the sphere's resolution
+  public void animate(int it){
 
-          // Map the returned value to the width and height of the shape
-          int x = (int)map(creatures[i].x, -1, 1, 0, gsWidth);
-          int y = (int)map(creatures[i].y, -1, 1, 0, gsHeight);
+    // If using reaction diffusion...
+    if (bReaction) gsSim.advance(this, it);
 
-          // And place feed the algorithm at each creatures location
-          gs.setRect(x, y, feedW, feedH);
+    // Force the radius so the TRIANGLE_STRIPS align
+    sphereResH = sphereResW;
+    sphereRadius = sphereResW + 1;
+  }
 
-          // This gives the impressions of creatures crawling across the shape, pressing down on the raised sections
-        }
-      }
+  // FEED
+  // Feed the reaction diffusion where the creatures are crawling over the sphere, see CreatureField.pde
+  public void feed(int it){
+    feedGrid(it, gsWidth, gsHeight, feedW, feedH);
+  }
 
-      // Otherwise, just set a small amount of feed in the centre of the shape
-      else if (!bCreatures){
-          gs.setRect(gsWidth/2, gsHeight/2, 3, 3);
-      }
-    }
+  // DRAW
+  public void draw(PGraphics pg, int it){
 
     for (int i = 0; i < sphereResH; i++){
 
@@ -103,19 +99,35 @@ public class Sphere extends Artifact{
       for (int j = 0; j < sphereResW+1; j++){
 
         // Grab the initial vector and draw it
-        PVector p1 = vertices.get(i*sphereRadius+j).position;
-        pg.vertex(p1.x, p1.y, p1.z);
+        int a = i*sphereRadius+j;
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
         // Grab the corresponding vector on the next strip and draw it
-        PVector p2 = vertices.get((i+1)*sphereRadius+j).position;
-        pg.vertex(p2.x, p2.y, p2.z);
+        int b = (i+1)*sphereRadius+j;
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
 
       // End the shape
       pg.endShape();
     }
 
-    // Force the radius so the TRIANGLE_STRIPS align
-    sphereResH = sphereResW;
-    sphereRadius = sphereResW + 1;
+  }
+
+  // FACES
+  // The same triangle strips as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for (int i = 0; i < sphereResH; i++){
+      strip.clear();
+      for (int j = 0; j < sphereResW+1; j++){
+        strip.append(i*sphereRadius+j);
+        strip.append((i+1)*sphereRadius+j);
+      }
+      addStrip(faces, strip);
+    }
+  }
+
+  // The sphere is drawn without its transformation, so it is exported without it too
+  public PMatrix3D exportMatrix(){
+    return new PMatrix3D();
   }
 } // End of Sphere class
@@ -23,7 +23,7 @@ public class Tongue extends Artifact{
 
   // SETUP
   public void setup(){
-    vertices = new ArrayList<Vert>();
+    vertices.clear();
 
     // If not in animation mode, draw a simple tongue
     if (!animated){
@@ -33,9 +33,19 @@ public class Tongue extends Artifact{
 
   }
 
-  // DRAW
-  // override draw function to draw a plane
-  public void draw(PGraphics pg, int it){
+  // TOPOLOGY
+  public float[] topologyParams(){
+    return new float[] { tongueRadius, tongueFrequency, tongueMagnitude, tongueIndependence, tongueSpacing, tongueCount, tongueSamples, tongueZ, tongueAmount, scale_Slider, radius_Slider, mod1, mod2 };
+  }
+
+  // In animation mode animate() appends a new tongue every frame, so the vertices must be cleared each time
+  public boolean isDirty(){
+    return animated || super.isDirty();
+  }
+
+  // ANIMATE
+  // In animation mode a new tongue is generated every frame
+  public void animate(int it){
     if (animated){
       // Create a new empty vector
       tempVec = new PVector(0, 0, 0);
@@ -52,20 +62,25 @@ public class Tongue extends Artifact{
       // Draw the tongue
       drawTongue( tempVec,  tongueRadius,  tongueFrequency,  tongueMagnitude,  tongueIndependence,  tongueSpacing,  tongueCount, tongueSamples, it);
     }
+  }
+
+  // DRAW
+  // override draw function to draw a plane
+  public void draw(PGraphics pg, int it){
 
     pushTransform(pg);
     pg.beginShape(TRIANGLE_STRIP);
-      for (int j = 0; j < vertices.size()-tongueSamples; j++){
+      for (int j = 0; j < vertices.count-tongueSamples; j++){
 
         // Grab the first vertex in the array
-        PVector p1 = vertices.get(j).position;
+        int a = j;
 
         // And the corresponding vertex on the next circle
-        PVector p2 = vertices.get((j + tongueSamples)).position;
+        int b = j + tongueSamples;
 
         // Add them to the buffer
-        pg.vertex(p1.x, p1.y, p1.z);
-        pg.vertex(p2.x, p2.y, p2.z);
+        pg.vertex(vertices.x[a], vertices.y[a], vertices.z[a]);
+        pg.vertex(vertices.x[b], vertices.y[b], vertices.z[b]);
       }
       pg.endShape();
 
@@ -73,6 +88,17 @@ public class Tongue extends Artifact{
     popTransform(pg);
   }
 
+  // FACES
+  // The same triangle strip as draw()
+  public void faces(IntList faces){
+    IntList strip = new IntList();
+    for (int j = 0; j < vertices.count-tongueSamples; j++){
+      strip.append(j);
+      strip.append(j + tongueSamples);
+    }
+    addStrip(faces, strip);
+  }
+
   // Draws a deformed circle depending on GUI specified values
   void drawCircle(PVector v, float radius, float frequency, float magnitude, float seed, float s ){
     for (int i = 0; i < s; i++){
@@ -0,0 +1,97 @@
+///////////////////
+// VERTEX BUFFER //
+///////////////////
+
+// Stores every vertex of an Artifact as flat arrays of floats rather than a list of objects.
+// The initial position is the one created by the shape's setup(), the current position is the
+// initial position plus the modulation applied every frame.
+//
+// Keeping each axis in its own array means a 256x256 plane is six arrays instead of ~200k PVectors,
+// and the per-vertex loops in update() and draw() read memory in order.
+
+class VertexBuffer{
+
+  // PROPERTIES
+  float[] initX, initY, initZ;
+  float[] x, y, z;
+  int count;
+
+  // Incremented whenever the initial positions change, so anything holding a copy knows to update it
+  int initVersion = 0;
+
+  // Scratch space the modulators evaluate a whole range of noise values into, one value per vertex.
+  // Threads only ever work on separate ranges, so they can share it.
+  double[] noise;
+  float[] noiseFloat;
+
+  // CONSTRUCTOR
+  VertexBuffer(){
+    this(1024);
+  }
+
+  VertexBuffer(int capacity){
+    allocate(max(capacity, 1));
+    count = 0;
+  }
+
+  // Empty the buffer, keeping the arrays so the shape can be rebuilt without reallocating
+  void clear(){
+    count = 0;
+    initVersion++;
+  }
+
+  int size(){
+    return count;
+  }
+
+  // Add a vertex, setting both its initial and current position
+  void push(float vx, float vy, float vz){
+    if (count == x.length) allocate(count * 2);
+
+    initX[count] = vx;
+    initY[count] = vy;
+    initZ[count] = vz;
+    x[count] = vx;
+    y[count] = vy;
+    z[count] = vz;
+    count++;
+    initVersion++;
+  }
+
+  // Remove the first vertex created at the given position, shifting the remaining vertices down
+  void remove(float vx, float vy, float vz){
+    for (int i = 0; i < count; i++){
+      if (initX[i] == vx && initY[i] == vy && initZ[i] == vz){
+        int tail = count - i - 1;
+        System.arraycopy(initX, i + 1, initX, i, tail);
+        System.arraycopy(initY, i + 1, initY, i, tail);
+        System.arraycopy(initZ, i + 1, initZ, i, tail);
+        System.arraycopy(x, i + 1, x, i, tail);
+        System.arraycopy(y, i + 1, y, i, tail);
+        System.arraycopy(z, i + 1, z, i, tail);
+        count--;
+        initVersion++;
+        return;
+      }
+    }
+  }
+
+  // Grow the arrays to the given capacity, keeping any existing vertices
+  void allocate(int capacity){
+    initX = grow(initX, capacity);
+    initY = grow(initY, capacity);
+    initZ = grow(initZ, capacity);
+    x = grow(x, capacity);
+    y = grow(y, capacity);
+    z = grow(z, capacity);
+    noise = new double[capacity];
+    noiseFloat = new float[capacity];
+  }
+
+  float[] grow(float[] src, int capacity){
+    float[] res = new float[capacity];
+    if (src != null) System.arraycopy(src, 0, res, 0, min(count, capacity));
+    return res;
+  }
+
+} // End of VertexBuffer class
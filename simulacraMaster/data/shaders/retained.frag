@@ -0,0 +1,22 @@
+// Fragment shader for RetainedMesh.pde. The mesh has no normals, each triangle is lit by the
+// normal of its plane, taken from the change in eye space position across the pixel.
+
+#ifdef GL_ES
+#extension GL_OES_standard_derivatives : enable
+precision mediump float;
+precision mediump int;
+#endif
+
+uniform vec4 meshColor;
+uniform float meshLit;
+
+varying vec3 eyePosition;
+
+void main() {
+  vec3 normal = normalize(cross(dFdx(eyePosition), dFdy(eyePosition)));
+
+  // The same as lights(), half ambient and half from a light shining into the screen, on both sides
+  float light = mix(1.0, 0.5 + 0.5 * abs(normal.z), meshLit);
+
+  gl_FragColor = vec4(meshColor.rgb * light, meshColor.a);
+}
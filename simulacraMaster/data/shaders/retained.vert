@@ -0,0 +1,14 @@
+// Vertex shader for RetainedMesh.pde, positions only.
+
+uniform mat4 meshTransform;
+uniform mat4 meshModelview;
+
+attribute vec3 meshPosition;
+
+varying vec3 eyePosition;
+
+void main() {
+  vec4 position = vec4(meshPosition, 1.0);
+  gl_Position = meshTransform * position;
+  eyePosition = (meshModelview * position).xyz;
+}
@@ -0,0 +1,1406 @@
+// Vertex shader version of the simplex modulator, see GpuModulation.pde.
+//
+// The mesh's initial positions are uploaded once and displaced here every frame, using a direct port of
+// the 4D OpenSimplex noise in OpenSimplexNoise.java. The permutation table and gradients are copied from
+// the Java class, so the displacement matches the CPU's to within float precision.
+//
+// Written without integer or bitwise operations so it compiles on every GLSL version Processing targets.
+// The bit masks used to pick lattice points are held in floats and combined with bitAnd() and bitOr().
+
+uniform mat4 meshTransform;
+uniform mat4 meshModelview;
+
+// The permutation table, four entries per vector, and the 64 gradients
+uniform vec4 perm[64];
+uniform vec4 gradients[64];
+
+// The point on the noise loop and the scale of the noise
+uniform float noiseScale;
+uniform float noiseZ;
+uniform float noiseW;
+
+// Extrusion, the same values FrameParams holds. axes is 1 for each enabled axis, 0 otherwise.
+uniform float animated;
+uniform vec3 axes;
+uniform vec3 extrusion;
+uniform vec3 rangeMin;
+uniform vec3 rangeMax;
+
+attribute vec3 meshPosition;
+
+varying vec3 eyePosition;
+
+const float STRETCH_CONSTANT_4D = -0.138196601125011;
+const float SQUISH_CONSTANT_4D = 0.309016994374947;
+const float NORM_CONSTANT_4D = 30.0;
+
+// The lowest four bits of a and b, combined
+float bitAnd(float a, float b) {
+  float res = 0.0;
+  float bit = 1.0;
+  for (int i = 0; i < 4; i++) {
+    if (mod(floor(a / bit), 2.0) == 1.0 && mod(floor(b / bit), 2.0) == 1.0) res += bit;
+    bit *= 2.0;
+  }
+  return res;
+}
+
+float bitOr(float a, float b) {
+  float res = 0.0;
+  float bit = 1.0;
+  for (int i = 0; i < 4; i++) {
+    if (mod(floor(a / bit), 2.0) == 1.0 || mod(floor(b / bit), 2.0) == 1.0) res += bit;
+    bit *= 2.0;
+  }
+  return res;
+}
+
+// perm[i & 0xFF]
+float permAt(float i) {
+  int k = int(mod(i, 256.0));
+  int v = k / 4;
+  int c = k - v * 4;
+  vec4 entry = perm[v];
+  if (c == 0) return entry.x;
+  if (c == 1) return entry.y;
+  if (c == 2) return entry.z;
+  return entry.w;
+}
+
+float extrapolate(float xsb, float ysb, float zsb, float wsb, float dx, float dy, float dz, float dw) {
+  float index = permAt(permAt(permAt(permAt(xsb) + mod(ysb, 256.0)) + mod(zsb, 256.0)) + mod(wsb, 256.0));
+  return dot(gradients[int(index / 4.0)], vec4(dx, dy, dz, dw));
+}
+
+// 4D OpenSimplex Noise, OpenSimplexNoise.eval(x, y, z, w)
+float simplexNoise(float x, float y, float z, float w) {
+  //Place input coordinates on simplectic honeycomb.
+  float stretchOffset = (x + y + z + w) * STRETCH_CONSTANT_4D;
+  float xs = x + stretchOffset;
+  float ys = y + stretchOffset;
+  float zs = z + stretchOffset;
+  float ws = w + stretchOffset;
+
+  //Floor to get simplectic honeycomb coordinates of rhombo-hypercube super-cell origin.
+  float xsb = floor(xs);
+  float ysb = floor(ys);
+  float zsb = floor(zs);
+  float wsb = floor(ws);
+
+  //Skew out to get actual coordinates of stretched rhombo-hypercube origin. We'll need these later.
+  float squishOffset = (xsb + ysb + zsb + wsb) * SQUISH_CONSTANT_4D;
+  float xb = xsb + squishOffset;
+  float yb = ysb + squishOffset;
+  float zb = zsb + squishOffset;
+  float wb = wsb + squishOffset;
+
+  //Compute simplectic honeycomb coordinates relative to rhombo-hypercube origin.
+  float xins = xs - xsb;
+  float yins = ys - ysb;
+  float zins = zs - zsb;
+  float wins = ws - wsb;
+
+  //Sum those together to get a value that determines which region we're in.
+  float inSum = xins + yins + zins + wins;
+
+  //Positions relative to origin point.
+  float dx0 = x - xb;
+  float dy0 = y - yb;
+  float dz0 = z - zb;
+  float dw0 = w - wb;
+
+  //We'll be defining these inside the next block and using them afterwards.
+  float dx_ext0, dy_ext0, dz_ext0, dw_ext0;
+  float dx_ext1, dy_ext1, dz_ext1, dw_ext1;
+  float dx_ext2, dy_ext2, dz_ext2, dw_ext2;
+  float xsv_ext0, ysv_ext0, zsv_ext0, wsv_ext0;
+  float xsv_ext1, ysv_ext1, zsv_ext1, wsv_ext1;
+  float xsv_ext2, ysv_ext2, zsv_ext2, wsv_ext2;
+
+  float value = 0.0;
+  if (inSum <= 1.0) { //We're inside the pentachoron (4-Simplex) at (0,0,0,0)
+
+    //Determine which two of (0,0,0,1), (0,0,1,0), (0,1,0,0), (1,0,0,0) are closest.
+    float aPoint = 1.0;
+    float aScore = xins;
+    float bPoint = 2.0;
+    float bScore = yins;
+    if (aScore >= bScore && zins > bScore) {
+      bScore = zins;
+      bPoint = 4.0;
+    } else if (aScore < bScore && zins > aScore) {
+      aScore = zins;
+      aPoint = 4.0;
+    }
+    if (aScore >= bScore && wins > bScore) {
+      bScore = wins;
+      bPoint = 8.0;
+    } else if (aScore < bScore && wins > aScore) {
+      aScore = wins;
+      aPoint = 8.0;
+    }
+
+    //Now we determine the three lattice points not part of the pentachoron that may contribute.
+    //This depends on the closest two pentachoron vertices, including (0,0,0,0)
+    float uins = 1.0 - inSum;
+    if (uins > aScore || uins > bScore) { //(0,0,0,0) is one of the closest two pentachoron vertices.
+      float c = (bScore > aScore ? bPoint : aPoint); //Our other closest vertex is the closest out of a and b.
+      if (bitAnd(c, 1.0) == 0.0) {
+        xsv_ext0 = xsb - 1.0;
+        xsv_ext1 = xsv_ext2 = xsb;
+        dx_ext0 = dx0 + 1.0;
+        dx_ext1 = dx_ext2 = dx0;
+      } else {
+        xsv_ext0 = xsv_ext1 = xsv_ext2 = xsb + 1.0;
+        dx_ext0 = dx_ext1 = dx_ext2 = dx0 - 1.0;
+      }
+
+      if (bitAnd(c, 2.0) == 0.0) {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb;
+        dy_ext0 = dy_ext1 = dy_ext2 = dy0;
+        if (bitAnd(c, 1.0) == 1.0) {
+          ysv_ext0 -= 1.0;
+          dy_ext0 += 1.0;
+        } else {
+          ysv_ext1 -= 1.0;
+          dy_ext1 += 1.0;
+        }
+      } else {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb + 1.0;
+        dy_ext0 = dy_ext1 = dy_ext2 = dy0 - 1.0;
+      }
+
+      if (bitAnd(c, 4.0) == 0.0) {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb;
+        dz_ext0 = dz_ext1 = dz_ext2 = dz0;
+        if (bitAnd(c, 3.0) != 0.0) {
+          if (bitAnd(c, 3.0) == 3.0) {
+            zsv_ext0 -= 1.0;
+            dz_ext0 += 1.0;
+          } else {
+            zsv_ext1 -= 1.0;
+            dz_ext1 += 1.0;
+          }
+        } else {
+          zsv_ext2 -= 1.0;
+          dz_ext2 += 1.0;
+        }
+      } else {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb + 1.0;
+        dz_ext0 = dz_ext1 = dz_ext2 = dz0 - 1.0;
+      }
+
+      if (bitAnd(c, 8.0) == 0.0) {
+        wsv_ext0 = wsv_ext1 = wsb;
+        wsv_ext2 = wsb - 1.0;
+        dw_ext0 = dw_ext1 = dw0;
+        dw_ext2 = dw0 + 1.0;
+      } else {
+        wsv_ext0 = wsv_ext1 = wsv_ext2 = wsb + 1.0;
+        dw_ext0 = dw_ext1 = dw_ext2 = dw0 - 1.0;
+      }
+    } else { //(0,0,0,0) is not one of the closest two pentachoron vertices.
+      float c = bitOr(aPoint, bPoint); //Our three extra vertices are determined by the closest two.
+
+      if (bitAnd(c, 1.0) == 0.0) {
+        xsv_ext0 = xsv_ext2 = xsb;
+        xsv_ext1 = xsb - 1.0;
+        dx_ext0 = dx0 - 2.0 * SQUISH_CONSTANT_4D;
+        dx_ext1 = dx0 + 1.0 - SQUISH_CONSTANT_4D;
+        dx_ext2 = dx0 - SQUISH_CONSTANT_4D;
+      } else {
+        xsv_ext0 = xsv_ext1 = xsv_ext2 = xsb + 1.0;
+        dx_ext0 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dx_ext1 = dx_ext2 = dx0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 2.0) == 0.0) {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb;
+        dy_ext0 = dy0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext1 = dy_ext2 = dy0 - SQUISH_CONSTANT_4D;
+        if (bitAnd(c, 1.0) == 1.0) {
+          ysv_ext1 -= 1.0;
+          dy_ext1 += 1.0;
+        } else {
+          ysv_ext2 -= 1.0;
+          dy_ext2 += 1.0;
+        }
+      } else {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb + 1.0;
+        dy_ext0 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext1 = dy_ext2 = dy0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 4.0) == 0.0) {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb;
+        dz_ext0 = dz0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext1 = dz_ext2 = dz0 - SQUISH_CONSTANT_4D;
+        if (bitAnd(c, 3.0) == 3.0) {
+          zsv_ext1 -= 1.0;
+          dz_ext1 += 1.0;
+        } else {
+          zsv_ext2 -= 1.0;
+          dz_ext2 += 1.0;
+        }
+      } else {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb + 1.0;
+        dz_ext0 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext1 = dz_ext2 = dz0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 8.0) == 0.0) {
+        wsv_ext0 = wsv_ext1 = wsb;
+        wsv_ext2 = wsb - 1.0;
+        dw_ext0 = dw0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext1 = dw0 - SQUISH_CONSTANT_4D;
+        dw_ext2 = dw0 + 1.0 - SQUISH_CONSTANT_4D;
+      } else {
+        wsv_ext0 = wsv_ext1 = wsv_ext2 = wsb + 1.0;
+        dw_ext0 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext1 = dw_ext2 = dw0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+    }
+
+    //Contribution (0,0,0,0)
+    float attn0 = 2.0 - dx0 * dx0 - dy0 * dy0 - dz0 * dz0 - dw0 * dw0;
+    if (attn0 > 0.0) {
+      attn0 *= attn0;
+      value += attn0 * attn0 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 0.0, wsb + 0.0, dx0, dy0, dz0, dw0);
+    }
+
+    //Contribution (1,0,0,0)
+    float dx1 = dx0 - 1.0 - SQUISH_CONSTANT_4D;
+    float dy1 = dy0 - 0.0 - SQUISH_CONSTANT_4D;
+    float dz1 = dz0 - 0.0 - SQUISH_CONSTANT_4D;
+    float dw1 = dw0 - 0.0 - SQUISH_CONSTANT_4D;
+    float attn1 = 2.0 - dx1 * dx1 - dy1 * dy1 - dz1 * dz1 - dw1 * dw1;
+    if (attn1 > 0.0) {
+      attn1 *= attn1;
+      value += attn1 * attn1 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 0.0, wsb + 0.0, dx1, dy1, dz1, dw1);
+    }
+
+    //Contribution (0,1,0,0)
+    float dx2 = dx0 - 0.0 - SQUISH_CONSTANT_4D;
+    float dy2 = dy0 - 1.0 - SQUISH_CONSTANT_4D;
+    float dz2 = dz1;
+    float dw2 = dw1;
+    float attn2 = 2.0 - dx2 * dx2 - dy2 * dy2 - dz2 * dz2 - dw2 * dw2;
+    if (attn2 > 0.0) {
+      attn2 *= attn2;
+      value += attn2 * attn2 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 0.0, wsb + 0.0, dx2, dy2, dz2, dw2);
+    }
+
+    //Contribution (0,0,1,0)
+    float dx3 = dx2;
+    float dy3 = dy1;
+    float dz3 = dz0 - 1.0 - SQUISH_CONSTANT_4D;
+    float dw3 = dw1;
+    float attn3 = 2.0 - dx3 * dx3 - dy3 * dy3 - dz3 * dz3 - dw3 * dw3;
+    if (attn3 > 0.0) {
+      attn3 *= attn3;
+      value += attn3 * attn3 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 1.0, wsb + 0.0, dx3, dy3, dz3, dw3);
+    }
+
+    //Contribution (0,0,0,1)
+    float dx4 = dx2;
+    float dy4 = dy1;
+    float dz4 = dz1;
+    float dw4 = dw0 - 1.0 - SQUISH_CONSTANT_4D;
+    float attn4 = 2.0 - dx4 * dx4 - dy4 * dy4 - dz4 * dz4 - dw4 * dw4;
+    if (attn4 > 0.0) {
+      attn4 *= attn4;
+      value += attn4 * attn4 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 0.0, wsb + 1.0, dx4, dy4, dz4, dw4);
+    }
+  } else if (inSum >= 3.0) { //We're inside the pentachoron (4-Simplex) at (1,1,1,1)
+    //Determine which two of (1,1,1,0), (1,1,0,1), (1,0,1,1), (0,1,1,1) are closest.
+    float aPoint = 14.0;
+    float aScore = xins;
+    float bPoint = 13.0;
+    float bScore = yins;
+    if (aScore <= bScore && zins < bScore) {
+      bScore = zins;
+      bPoint = 11.0;
+    } else if (aScore > bScore && zins < aScore) {
+      aScore = zins;
+      aPoint = 11.0;
+    }
+    if (aScore <= bScore && wins < bScore) {
+      bScore = wins;
+      bPoint = 7.0;
+    } else if (aScore > bScore && wins < aScore) {
+      aScore = wins;
+      aPoint = 7.0;
+    }
+
+    //Now we determine the three lattice points not part of the pentachoron that may contribute.
+    //This depends on the closest two pentachoron vertices, including (0,0,0,0)
+    float uins = 4.0 - inSum;
+    if (uins < aScore || uins < bScore) { //(1,1,1,1) is one of the closest two pentachoron vertices.
+      float c = (bScore < aScore ? bPoint : aPoint); //Our other closest vertex is the closest out of a and b.
+
+      if (bitAnd(c, 1.0) != 0.0) {
+        xsv_ext0 = xsb + 2.0;
+        xsv_ext1 = xsv_ext2 = xsb + 1.0;
+        dx_ext0 = dx0 - 2.0 - 4.0 * SQUISH_CONSTANT_4D;
+        dx_ext1 = dx_ext2 = dx0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+      } else {
+        xsv_ext0 = xsv_ext1 = xsv_ext2 = xsb;
+        dx_ext0 = dx_ext1 = dx_ext2 = dx0 - 4.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 2.0) != 0.0) {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb + 1.0;
+        dy_ext0 = dy_ext1 = dy_ext2 = dy0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c, 1.0) != 0.0) {
+          ysv_ext1 += 1.0;
+          dy_ext1 -= 1.0;
+        } else {
+          ysv_ext0 += 1.0;
+          dy_ext0 -= 1.0;
+        }
+      } else {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb;
+        dy_ext0 = dy_ext1 = dy_ext2 = dy0 - 4.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 4.0) != 0.0) {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb + 1.0;
+        dz_ext0 = dz_ext1 = dz_ext2 = dz0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c, 3.0) != 3.0) {
+          if (bitAnd(c, 3.0) == 0.0) {
+            zsv_ext0 += 1.0;
+            dz_ext0 -= 1.0;
+          } else {
+            zsv_ext1 += 1.0;
+            dz_ext1 -= 1.0;
+          }
+        } else {
+          zsv_ext2 += 1.0;
+          dz_ext2 -= 1.0;
+        }
+      } else {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb;
+        dz_ext0 = dz_ext1 = dz_ext2 = dz0 - 4.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 8.0) != 0.0) {
+        wsv_ext0 = wsv_ext1 = wsb + 1.0;
+        wsv_ext2 = wsb + 2.0;
+        dw_ext0 = dw_ext1 = dw0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+        dw_ext2 = dw0 - 2.0 - 4.0 * SQUISH_CONSTANT_4D;
+      } else {
+        wsv_ext0 = wsv_ext1 = wsv_ext2 = wsb;
+        dw_ext0 = dw_ext1 = dw_ext2 = dw0 - 4.0 * SQUISH_CONSTANT_4D;
+      }
+    } else { //(1,1,1,1) is not one of the closest two pentachoron vertices.
+      float c = bitAnd(aPoint, bPoint); //Our three extra vertices are determined by the closest two.
+
+      if (bitAnd(c, 1.0) != 0.0) {
+        xsv_ext0 = xsv_ext2 = xsb + 1.0;
+        xsv_ext1 = xsb + 2.0;
+        dx_ext0 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dx_ext1 = dx0 - 2.0 - 3.0 * SQUISH_CONSTANT_4D;
+        dx_ext2 = dx0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+      } else {
+        xsv_ext0 = xsv_ext1 = xsv_ext2 = xsb;
+        dx_ext0 = dx0 - 2.0 * SQUISH_CONSTANT_4D;
+        dx_ext1 = dx_ext2 = dx0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 2.0) != 0.0) {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb + 1.0;
+        dy_ext0 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext1 = dy_ext2 = dy0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c, 1.0) != 0.0) {
+          ysv_ext2 += 1.0;
+          dy_ext2 -= 1.0;
+        } else {
+          ysv_ext1 += 1.0;
+          dy_ext1 -= 1.0;
+        }
+      } else {
+        ysv_ext0 = ysv_ext1 = ysv_ext2 = ysb;
+        dy_ext0 = dy0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext1 = dy_ext2 = dy0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 4.0) != 0.0) {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb + 1.0;
+        dz_ext0 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext1 = dz_ext2 = dz0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c, 3.0) != 0.0) {
+          zsv_ext2 += 1.0;
+          dz_ext2 -= 1.0;
+        } else {
+          zsv_ext1 += 1.0;
+          dz_ext1 -= 1.0;
+        }
+      } else {
+        zsv_ext0 = zsv_ext1 = zsv_ext2 = zsb;
+        dz_ext0 = dz0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext1 = dz_ext2 = dz0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c, 8.0) != 0.0) {
+        wsv_ext0 = wsv_ext1 = wsb + 1.0;
+        wsv_ext2 = wsb + 2.0;
+        dw_ext0 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext1 = dw0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        dw_ext2 = dw0 - 2.0 - 3.0 * SQUISH_CONSTANT_4D;
+      } else {
+        wsv_ext0 = wsv_ext1 = wsv_ext2 = wsb;
+        dw_ext0 = dw0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext1 = dw_ext2 = dw0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+    }
+
+    //Contribution (1,1,1,0)
+    float dx4 = dx0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dy4 = dy0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dz4 = dz0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dw4 = dw0 - 3.0 * SQUISH_CONSTANT_4D;
+    float attn4 = 2.0 - dx4 * dx4 - dy4 * dy4 - dz4 * dz4 - dw4 * dw4;
+    if (attn4 > 0.0) {
+      attn4 *= attn4;
+      value += attn4 * attn4 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 1.0, wsb + 0.0, dx4, dy4, dz4, dw4);
+    }
+
+    //Contribution (1,1,0,1)
+    float dx3 = dx4;
+    float dy3 = dy4;
+    float dz3 = dz0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dw3 = dw0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float attn3 = 2.0 - dx3 * dx3 - dy3 * dy3 - dz3 * dz3 - dw3 * dw3;
+    if (attn3 > 0.0) {
+      attn3 *= attn3;
+      value += attn3 * attn3 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 0.0, wsb + 1.0, dx3, dy3, dz3, dw3);
+    }
+
+    //Contribution (1,0,1,1)
+    float dx2 = dx4;
+    float dy2 = dy0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dz2 = dz4;
+    float dw2 = dw3;
+    float attn2 = 2.0 - dx2 * dx2 - dy2 * dy2 - dz2 * dz2 - dw2 * dw2;
+    if (attn2 > 0.0) {
+      attn2 *= attn2;
+      value += attn2 * attn2 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 1.0, wsb + 1.0, dx2, dy2, dz2, dw2);
+    }
+
+    //Contribution (0,1,1,1)
+    float dx1 = dx0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dz1 = dz4;
+    float dy1 = dy4;
+    float dw1 = dw3;
+    float attn1 = 2.0 - dx1 * dx1 - dy1 * dy1 - dz1 * dz1 - dw1 * dw1;
+    if (attn1 > 0.0) {
+      attn1 *= attn1;
+      value += attn1 * attn1 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 1.0, wsb + 1.0, dx1, dy1, dz1, dw1);
+    }
+
+    //Contribution (1,1,1,1)
+    dx0 = dx0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+    dy0 = dy0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+    dz0 = dz0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+    dw0 = dw0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+    float attn0 = 2.0 - dx0 * dx0 - dy0 * dy0 - dz0 * dz0 - dw0 * dw0;
+    if (attn0 > 0.0) {
+      attn0 *= attn0;
+      value += attn0 * attn0 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 1.0, wsb + 1.0, dx0, dy0, dz0, dw0);
+    }
+  } else if (inSum <= 2.0) { //We're inside the first dispentachoron (Rectified 4-Simplex)
+    float aScore;
+    float aPoint;
+    boolean aIsBiggerSide = true;
+    float bScore;
+    float bPoint;
+    boolean bIsBiggerSide = true;
+
+    //Decide between (1,1,0,0) and (0,0,1,1)
+    if (xins + yins > zins + wins) {
+      aScore = xins + yins;
+      aPoint = 3.0;
+    } else {
+      aScore = zins + wins;
+      aPoint = 12.0;
+    }
+
+    //Decide between (1,0,1,0) and (0,1,0,1)
+    if (xins + zins > yins + wins) {
+      bScore = xins + zins;
+      bPoint = 5.0;
+    } else {
+      bScore = yins + wins;
+      bPoint = 10.0;
+    }
+
+    //Closer between (1,0,0,1) and (0,1,1,0) will replace the further of a and b, if closer.
+    if (xins + wins > yins + zins) {
+      float score = xins + wins;
+      if (aScore >= bScore && score > bScore) {
+        bScore = score;
+        bPoint = 9.0;
+      } else if (aScore < bScore && score > aScore) {
+        aScore = score;
+        aPoint = 9.0;
+      }
+    } else {
+      float score = yins + zins;
+      if (aScore >= bScore && score > bScore) {
+        bScore = score;
+        bPoint = 6.0;
+      } else if (aScore < bScore && score > aScore) {
+        aScore = score;
+        aPoint = 6.0;
+      }
+    }
+
+    //Decide if (1,0,0,0) is closer.
+    float p1 = 2.0 - inSum + xins;
+    if (aScore >= bScore && p1 > bScore) {
+      bScore = p1;
+      bPoint = 1.0;
+      bIsBiggerSide = false;
+    } else if (aScore < bScore && p1 > aScore) {
+      aScore = p1;
+      aPoint = 1.0;
+      aIsBiggerSide = false;
+    }
+
+    //Decide if (0,1,0,0) is closer.
+    float p2 = 2.0 - inSum + yins;
+    if (aScore >= bScore && p2 > bScore) {
+      bScore = p2;
+      bPoint = 2.0;
+      bIsBiggerSide = false;
+    } else if (aScore < bScore && p2 > aScore) {
+      aScore = p2;
+      aPoint = 2.0;
+      aIsBiggerSide = false;
+    }
+
+    //Decide if (0,0,1,0) is closer.
+    float p3 = 2.0 - inSum + zins;
+    if (aScore >= bScore && p3 > bScore) {
+      bScore = p3;
+      bPoint = 4.0;
+      bIsBiggerSide = false;
+    } else if (aScore < bScore && p3 > aScore) {
+      aScore = p3;
+      aPoint = 4.0;
+      aIsBiggerSide = false;
+    }
+
+    //Decide if (0,0,0,1) is closer.
+    float p4 = 2.0 - inSum + wins;
+    if (aScore >= bScore && p4 > bScore) {
+      bScore = p4;
+      bPoint = 8.0;
+      bIsBiggerSide = false;
+    } else if (aScore < bScore && p4 > aScore) {
+      aScore = p4;
+      aPoint = 8.0;
+      aIsBiggerSide = false;
+    }
+
+    //Where each of the two closest points are determines how the extra three vertices are calculated.
+    if (aIsBiggerSide == bIsBiggerSide) {
+      if (aIsBiggerSide) { //Both closest points on the bigger side
+        float c1 = bitOr(aPoint, bPoint);
+        float c2 = bitAnd(aPoint, bPoint);
+        if (bitAnd(c1, 1.0) == 0.0) {
+          xsv_ext0 = xsb;
+          xsv_ext1 = xsb - 1.0;
+          dx_ext0 = dx0 - 3.0 * SQUISH_CONSTANT_4D;
+          dx_ext1 = dx0 + 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        } else {
+          xsv_ext0 = xsv_ext1 = xsb + 1.0;
+          dx_ext0 = dx0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          dx_ext1 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c1, 2.0) == 0.0) {
+          ysv_ext0 = ysb;
+          ysv_ext1 = ysb - 1.0;
+          dy_ext0 = dy0 - 3.0 * SQUISH_CONSTANT_4D;
+          dy_ext1 = dy0 + 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        } else {
+          ysv_ext0 = ysv_ext1 = ysb + 1.0;
+          dy_ext0 = dy0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          dy_ext1 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c1, 4.0) == 0.0) {
+          zsv_ext0 = zsb;
+          zsv_ext1 = zsb - 1.0;
+          dz_ext0 = dz0 - 3.0 * SQUISH_CONSTANT_4D;
+          dz_ext1 = dz0 + 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        } else {
+          zsv_ext0 = zsv_ext1 = zsb + 1.0;
+          dz_ext0 = dz0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          dz_ext1 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c1, 8.0) == 0.0) {
+          wsv_ext0 = wsb;
+          wsv_ext1 = wsb - 1.0;
+          dw_ext0 = dw0 - 3.0 * SQUISH_CONSTANT_4D;
+          dw_ext1 = dw0 + 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        } else {
+          wsv_ext0 = wsv_ext1 = wsb + 1.0;
+          dw_ext0 = dw0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          dw_ext1 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        }
+
+        //One combination is a permutation of (0,0,0,2) based on c2
+        xsv_ext2 = xsb;
+        ysv_ext2 = ysb;
+        zsv_ext2 = zsb;
+        wsv_ext2 = wsb;
+        dx_ext2 = dx0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext2 = dy0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext2 = dz0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext2 = dw0 - 2.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c2, 1.0) != 0.0) {
+          xsv_ext2 += 2.0;
+          dx_ext2 -= 2.0;
+        } else if (bitAnd(c2, 2.0) != 0.0) {
+          ysv_ext2 += 2.0;
+          dy_ext2 -= 2.0;
+        } else if (bitAnd(c2, 4.0) != 0.0) {
+          zsv_ext2 += 2.0;
+          dz_ext2 -= 2.0;
+        } else {
+          wsv_ext2 += 2.0;
+          dw_ext2 -= 2.0;
+        }
+
+      } else { //Both closest points on the smaller side
+        //One of the two extra points is (0,0,0,0)
+        xsv_ext2 = xsb;
+        ysv_ext2 = ysb;
+        zsv_ext2 = zsb;
+        wsv_ext2 = wsb;
+        dx_ext2 = dx0;
+        dy_ext2 = dy0;
+        dz_ext2 = dz0;
+        dw_ext2 = dw0;
+
+        //Other two points are based on the omitted axes.
+        float c = bitOr(aPoint, bPoint);
+
+        if (bitAnd(c, 1.0) == 0.0) {
+          xsv_ext0 = xsb - 1.0;
+          xsv_ext1 = xsb;
+          dx_ext0 = dx0 + 1.0 - SQUISH_CONSTANT_4D;
+          dx_ext1 = dx0 - SQUISH_CONSTANT_4D;
+        } else {
+          xsv_ext0 = xsv_ext1 = xsb + 1.0;
+          dx_ext0 = dx_ext1 = dx0 - 1.0 - SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c, 2.0) == 0.0) {
+          ysv_ext0 = ysv_ext1 = ysb;
+          dy_ext0 = dy_ext1 = dy0 - SQUISH_CONSTANT_4D;
+          if (bitAnd(c, 1.0) == 1.0)
+          {
+            ysv_ext0 -= 1.0;
+            dy_ext0 += 1.0;
+          } else {
+            ysv_ext1 -= 1.0;
+            dy_ext1 += 1.0;
+          }
+        } else {
+          ysv_ext0 = ysv_ext1 = ysb + 1.0;
+          dy_ext0 = dy_ext1 = dy0 - 1.0 - SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c, 4.0) == 0.0) {
+          zsv_ext0 = zsv_ext1 = zsb;
+          dz_ext0 = dz_ext1 = dz0 - SQUISH_CONSTANT_4D;
+          if (bitAnd(c, 3.0) == 3.0)
+          {
+            zsv_ext0 -= 1.0;
+            dz_ext0 += 1.0;
+          } else {
+            zsv_ext1 -= 1.0;
+            dz_ext1 += 1.0;
+          }
+        } else {
+          zsv_ext0 = zsv_ext1 = zsb + 1.0;
+          dz_ext0 = dz_ext1 = dz0 - 1.0 - SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c, 8.0) == 0.0)
+        {
+          wsv_ext0 = wsb;
+          wsv_ext1 = wsb - 1.0;
+          dw_ext0 = dw0 - SQUISH_CONSTANT_4D;
+          dw_ext1 = dw0 + 1.0 - SQUISH_CONSTANT_4D;
+        } else {
+          wsv_ext0 = wsv_ext1 = wsb + 1.0;
+          dw_ext0 = dw_ext1 = dw0 - 1.0 - SQUISH_CONSTANT_4D;
+        }
+
+      }
+    } else { //One point on each "side"
+      float c1, c2;
+      if (aIsBiggerSide) {
+        c1 = aPoint;
+        c2 = bPoint;
+      } else {
+        c1 = bPoint;
+        c2 = aPoint;
+      }
+
+      //Two contributions are the bigger-sided point with each 0 replaced with -1.
+      if (bitAnd(c1, 1.0) == 0.0) {
+        xsv_ext0 = xsb - 1.0;
+        xsv_ext1 = xsb;
+        dx_ext0 = dx0 + 1.0 - SQUISH_CONSTANT_4D;
+        dx_ext1 = dx0 - SQUISH_CONSTANT_4D;
+      } else {
+        xsv_ext0 = xsv_ext1 = xsb + 1.0;
+        dx_ext0 = dx_ext1 = dx0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c1, 2.0) == 0.0) {
+        ysv_ext0 = ysv_ext1 = ysb;
+        dy_ext0 = dy_ext1 = dy0 - SQUISH_CONSTANT_4D;
+        if (bitAnd(c1, 1.0) == 1.0) {
+          ysv_ext0 -= 1.0;
+          dy_ext0 += 1.0;
+        } else {
+          ysv_ext1 -= 1.0;
+          dy_ext1 += 1.0;
+        }
+      } else {
+        ysv_ext0 = ysv_ext1 = ysb + 1.0;
+        dy_ext0 = dy_ext1 = dy0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c1, 4.0) == 0.0) {
+        zsv_ext0 = zsv_ext1 = zsb;
+        dz_ext0 = dz_ext1 = dz0 - SQUISH_CONSTANT_4D;
+        if (bitAnd(c1, 3.0) == 3.0) {
+          zsv_ext0 -= 1.0;
+          dz_ext0 += 1.0;
+        } else {
+          zsv_ext1 -= 1.0;
+          dz_ext1 += 1.0;
+        }
+      } else {
+        zsv_ext0 = zsv_ext1 = zsb + 1.0;
+        dz_ext0 = dz_ext1 = dz0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c1, 8.0) == 0.0) {
+        wsv_ext0 = wsb;
+        wsv_ext1 = wsb - 1.0;
+        dw_ext0 = dw0 - SQUISH_CONSTANT_4D;
+        dw_ext1 = dw0 + 1.0 - SQUISH_CONSTANT_4D;
+      } else {
+        wsv_ext0 = wsv_ext1 = wsb + 1.0;
+        dw_ext0 = dw_ext1 = dw0 - 1.0 - SQUISH_CONSTANT_4D;
+      }
+
+      //One contribution is a permutation of (0,0,0,2) based on the smaller-sided point
+      xsv_ext2 = xsb;
+      ysv_ext2 = ysb;
+      zsv_ext2 = zsb;
+      wsv_ext2 = wsb;
+      dx_ext2 = dx0 - 2.0 * SQUISH_CONSTANT_4D;
+      dy_ext2 = dy0 - 2.0 * SQUISH_CONSTANT_4D;
+      dz_ext2 = dz0 - 2.0 * SQUISH_CONSTANT_4D;
+      dw_ext2 = dw0 - 2.0 * SQUISH_CONSTANT_4D;
+      if (bitAnd(c2, 1.0) != 0.0) {
+        xsv_ext2 += 2.0;
+        dx_ext2 -= 2.0;
+      } else if (bitAnd(c2, 2.0) != 0.0) {
+        ysv_ext2 += 2.0;
+        dy_ext2 -= 2.0;
+      } else if (bitAnd(c2, 4.0) != 0.0) {
+        zsv_ext2 += 2.0;
+        dz_ext2 -= 2.0;
+      } else {
+        wsv_ext2 += 2.0;
+        dw_ext2 -= 2.0;
+      }
+    }
+
+    //Contribution (1,0,0,0)
+    float dx1 = dx0 - 1.0 - SQUISH_CONSTANT_4D;
+    float dy1 = dy0 - 0.0 - SQUISH_CONSTANT_4D;
+    float dz1 = dz0 - 0.0 - SQUISH_CONSTANT_4D;
+    float dw1 = dw0 - 0.0 - SQUISH_CONSTANT_4D;
+    float attn1 = 2.0 - dx1 * dx1 - dy1 * dy1 - dz1 * dz1 - dw1 * dw1;
+    if (attn1 > 0.0) {
+      attn1 *= attn1;
+      value += attn1 * attn1 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 0.0, wsb + 0.0, dx1, dy1, dz1, dw1);
+    }
+
+    //Contribution (0,1,0,0)
+    float dx2 = dx0 - 0.0 - SQUISH_CONSTANT_4D;
+    float dy2 = dy0 - 1.0 - SQUISH_CONSTANT_4D;
+    float dz2 = dz1;
+    float dw2 = dw1;
+    float attn2 = 2.0 - dx2 * dx2 - dy2 * dy2 - dz2 * dz2 - dw2 * dw2;
+    if (attn2 > 0.0) {
+      attn2 *= attn2;
+      value += attn2 * attn2 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 0.0, wsb + 0.0, dx2, dy2, dz2, dw2);
+    }
+
+    //Contribution (0,0,1,0)
+    float dx3 = dx2;
+    float dy3 = dy1;
+    float dz3 = dz0 - 1.0 - SQUISH_CONSTANT_4D;
+    float dw3 = dw1;
+    float attn3 = 2.0 - dx3 * dx3 - dy3 * dy3 - dz3 * dz3 - dw3 * dw3;
+    if (attn3 > 0.0) {
+      attn3 *= attn3;
+      value += attn3 * attn3 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 1.0, wsb + 0.0, dx3, dy3, dz3, dw3);
+    }
+
+    //Contribution (0,0,0,1)
+    float dx4 = dx2;
+    float dy4 = dy1;
+    float dz4 = dz1;
+    float dw4 = dw0 - 1.0 - SQUISH_CONSTANT_4D;
+    float attn4 = 2.0 - dx4 * dx4 - dy4 * dy4 - dz4 * dz4 - dw4 * dw4;
+    if (attn4 > 0.0) {
+      attn4 *= attn4;
+      value += attn4 * attn4 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 0.0, wsb + 1.0, dx4, dy4, dz4, dw4);
+    }
+
+    //Contribution (1,1,0,0)
+    float dx5 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy5 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz5 = dz0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw5 = dw0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn5 = 2.0 - dx5 * dx5 - dy5 * dy5 - dz5 * dz5 - dw5 * dw5;
+    if (attn5 > 0.0) {
+      attn5 *= attn5;
+      value += attn5 * attn5 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 0.0, wsb + 0.0, dx5, dy5, dz5, dw5);
+    }
+
+    //Contribution (1,0,1,0)
+    float dx6 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy6 = dy0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz6 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw6 = dw0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn6 = 2.0 - dx6 * dx6 - dy6 * dy6 - dz6 * dz6 - dw6 * dw6;
+    if (attn6 > 0.0) {
+      attn6 *= attn6;
+      value += attn6 * attn6 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 1.0, wsb + 0.0, dx6, dy6, dz6, dw6);
+    }
+
+    //Contribution (1,0,0,1)
+    float dx7 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy7 = dy0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz7 = dz0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw7 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn7 = 2.0 - dx7 * dx7 - dy7 * dy7 - dz7 * dz7 - dw7 * dw7;
+    if (attn7 > 0.0) {
+      attn7 *= attn7;
+      value += attn7 * attn7 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 0.0, wsb + 1.0, dx7, dy7, dz7, dw7);
+    }
+
+    //Contribution (0,1,1,0)
+    float dx8 = dx0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy8 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz8 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw8 = dw0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn8 = 2.0 - dx8 * dx8 - dy8 * dy8 - dz8 * dz8 - dw8 * dw8;
+    if (attn8 > 0.0) {
+      attn8 *= attn8;
+      value += attn8 * attn8 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 1.0, wsb + 0.0, dx8, dy8, dz8, dw8);
+    }
+
+    //Contribution (0,1,0,1)
+    float dx9 = dx0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy9 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz9 = dz0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw9 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn9 = 2.0 - dx9 * dx9 - dy9 * dy9 - dz9 * dz9 - dw9 * dw9;
+    if (attn9 > 0.0) {
+      attn9 *= attn9;
+      value += attn9 * attn9 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 0.0, wsb + 1.0, dx9, dy9, dz9, dw9);
+    }
+
+    //Contribution (0,0,1,1)
+    float dx10 = dx0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy10 = dy0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz10 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw10 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn10 = 2.0 - dx10 * dx10 - dy10 * dy10 - dz10 * dz10 - dw10 * dw10;
+    if (attn10 > 0.0) {
+      attn10 *= attn10;
+      value += attn10 * attn10 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 1.0, wsb + 1.0, dx10, dy10, dz10, dw10);
+    }
+  } else { //We're inside the second dispentachoron (Rectified 4-Simplex)
+    float aScore;
+    float aPoint;
+    boolean aIsBiggerSide = true;
+    float bScore;
+    float bPoint;
+    boolean bIsBiggerSide = true;
+
+    //Decide between (0,0,1,1) and (1,1,0,0)
+    if (xins + yins < zins + wins) {
+      aScore = xins + yins;
+      aPoint = 12.0;
+    } else {
+      aScore = zins + wins;
+      aPoint = 3.0;
+    }
+
+    //Decide between (0,1,0,1) and (1,0,1,0)
+    if (xins + zins < yins + wins) {
+      bScore = xins + zins;
+      bPoint = 10.0;
+    } else {
+      bScore = yins + wins;
+      bPoint = 5.0;
+    }
+
+    //Closer between (0,1,1,0) and (1,0,0,1) will replace the further of a and b, if closer.
+    if (xins + wins < yins + zins) {
+      float score = xins + wins;
+      if (aScore <= bScore && score < bScore) {
+        bScore = score;
+        bPoint = 6.0;
+      } else if (aScore > bScore && score < aScore) {
+        aScore = score;
+        aPoint = 6.0;
+      }
+    } else {
+      float score = yins + zins;
+      if (aScore <= bScore && score < bScore) {
+        bScore = score;
+        bPoint = 9.0;
+      } else if (aScore > bScore && score < aScore) {
+        aScore = score;
+        aPoint = 9.0;
+      }
+    }
+
+    //Decide if (0,1,1,1) is closer.
+    float p1 = 3.0 - inSum + xins;
+    if (aScore <= bScore && p1 < bScore) {
+      bScore = p1;
+      bPoint = 14.0;
+      bIsBiggerSide = false;
+    } else if (aScore > bScore && p1 < aScore) {
+      aScore = p1;
+      aPoint = 14.0;
+      aIsBiggerSide = false;
+    }
+
+    //Decide if (1,0,1,1) is closer.
+    float p2 = 3.0 - inSum + yins;
+    if (aScore <= bScore && p2 < bScore) {
+      bScore = p2;
+      bPoint = 13.0;
+      bIsBiggerSide = false;
+    } else if (aScore > bScore && p2 < aScore) {
+      aScore = p2;
+      aPoint = 13.0;
+      aIsBiggerSide = false;
+    }
+
+    //Decide if (1,1,0,1) is closer.
+    float p3 = 3.0 - inSum + zins;
+    if (aScore <= bScore && p3 < bScore) {
+      bScore = p3;
+      bPoint = 11.0;
+      bIsBiggerSide = false;
+    } else if (aScore > bScore && p3 < aScore) {
+      aScore = p3;
+      aPoint = 11.0;
+      aIsBiggerSide = false;
+    }
+
+    //Decide if (1,1,1,0) is closer.
+    float p4 = 3.0 - inSum + wins;
+    if (aScore <= bScore && p4 < bScore) {
+      bScore = p4;
+      bPoint = 7.0;
+      bIsBiggerSide = false;
+    } else if (aScore > bScore && p4 < aScore) {
+      aScore = p4;
+      aPoint = 7.0;
+      aIsBiggerSide = false;
+    }
+
+    //Where each of the two closest points are determines how the extra three vertices are calculated.
+    if (aIsBiggerSide == bIsBiggerSide) {
+      if (aIsBiggerSide) { //Both closest points on the bigger side
+        float c1 = bitAnd(aPoint, bPoint);
+        float c2 = bitOr(aPoint, bPoint);
+
+        //Two contributions are permutations of (0,0,0,1) and (0,0,0,2) based on c1
+        xsv_ext0 = xsv_ext1 = xsb;
+        ysv_ext0 = ysv_ext1 = ysb;
+        zsv_ext0 = zsv_ext1 = zsb;
+        wsv_ext0 = wsv_ext1 = wsb;
+        dx_ext0 = dx0 - SQUISH_CONSTANT_4D;
+        dy_ext0 = dy0 - SQUISH_CONSTANT_4D;
+        dz_ext0 = dz0 - SQUISH_CONSTANT_4D;
+        dw_ext0 = dw0 - SQUISH_CONSTANT_4D;
+        dx_ext1 = dx0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext1 = dy0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext1 = dz0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext1 = dw0 - 2.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c1, 1.0) != 0.0) {
+          xsv_ext0 += 1.0;
+          dx_ext0 -= 1.0;
+          xsv_ext1 += 2.0;
+          dx_ext1 -= 2.0;
+        } else if (bitAnd(c1, 2.0) != 0.0) {
+          ysv_ext0 += 1.0;
+          dy_ext0 -= 1.0;
+          ysv_ext1 += 2.0;
+          dy_ext1 -= 2.0;
+        } else if (bitAnd(c1, 4.0) != 0.0) {
+          zsv_ext0 += 1.0;
+          dz_ext0 -= 1.0;
+          zsv_ext1 += 2.0;
+          dz_ext1 -= 2.0;
+        } else {
+          wsv_ext0 += 1.0;
+          dw_ext0 -= 1.0;
+          wsv_ext1 += 2.0;
+          dw_ext1 -= 2.0;
+        }
+
+        //One contribution is a permutation of (1,1,1,-1) based on c2
+        xsv_ext2 = xsb + 1.0;
+        ysv_ext2 = ysb + 1.0;
+        zsv_ext2 = zsb + 1.0;
+        wsv_ext2 = wsb + 1.0;
+        dx_ext2 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dy_ext2 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dz_ext2 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        dw_ext2 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c2, 1.0) == 0.0) {
+          xsv_ext2 -= 2.0;
+          dx_ext2 += 2.0;
+        } else if (bitAnd(c2, 2.0) == 0.0) {
+          ysv_ext2 -= 2.0;
+          dy_ext2 += 2.0;
+        } else if (bitAnd(c2, 4.0) == 0.0) {
+          zsv_ext2 -= 2.0;
+          dz_ext2 += 2.0;
+        } else {
+          wsv_ext2 -= 2.0;
+          dw_ext2 += 2.0;
+        }
+      } else { //Both closest points on the smaller side
+        //One of the two extra points is (1,1,1,1)
+        xsv_ext2 = xsb + 1.0;
+        ysv_ext2 = ysb + 1.0;
+        zsv_ext2 = zsb + 1.0;
+        wsv_ext2 = wsb + 1.0;
+        dx_ext2 = dx0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+        dy_ext2 = dy0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+        dz_ext2 = dz0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+        dw_ext2 = dw0 - 1.0 - 4.0 * SQUISH_CONSTANT_4D;
+
+        //Other two points are based on the shared axes.
+        float c = bitAnd(aPoint, bPoint);
+
+        if (bitAnd(c, 1.0) != 0.0) {
+          xsv_ext0 = xsb + 2.0;
+          xsv_ext1 = xsb + 1.0;
+          dx_ext0 = dx0 - 2.0 - 3.0 * SQUISH_CONSTANT_4D;
+          dx_ext1 = dx0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        } else {
+          xsv_ext0 = xsv_ext1 = xsb;
+          dx_ext0 = dx_ext1 = dx0 - 3.0 * SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c, 2.0) != 0.0) {
+          ysv_ext0 = ysv_ext1 = ysb + 1.0;
+          dy_ext0 = dy_ext1 = dy0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          if (bitAnd(c, 1.0) == 0.0)
+          {
+            ysv_ext0 += 1.0;
+            dy_ext0 -= 1.0;
+          } else {
+            ysv_ext1 += 1.0;
+            dy_ext1 -= 1.0;
+          }
+        } else {
+          ysv_ext0 = ysv_ext1 = ysb;
+          dy_ext0 = dy_ext1 = dy0 - 3.0 * SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c, 4.0) != 0.0) {
+          zsv_ext0 = zsv_ext1 = zsb + 1.0;
+          dz_ext0 = dz_ext1 = dz0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          if (bitAnd(c, 3.0) == 0.0)
+          {
+            zsv_ext0 += 1.0;
+            dz_ext0 -= 1.0;
+          } else {
+            zsv_ext1 += 1.0;
+            dz_ext1 -= 1.0;
+          }
+        } else {
+          zsv_ext0 = zsv_ext1 = zsb;
+          dz_ext0 = dz_ext1 = dz0 - 3.0 * SQUISH_CONSTANT_4D;
+        }
+
+        if (bitAnd(c, 8.0) != 0.0)
+        {
+          wsv_ext0 = wsb + 1.0;
+          wsv_ext1 = wsb + 2.0;
+          dw_ext0 = dw0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+          dw_ext1 = dw0 - 2.0 - 3.0 * SQUISH_CONSTANT_4D;
+        } else {
+          wsv_ext0 = wsv_ext1 = wsb;
+          dw_ext0 = dw_ext1 = dw0 - 3.0 * SQUISH_CONSTANT_4D;
+        }
+      }
+    } else { //One point on each "side"
+      float c1, c2;
+      if (aIsBiggerSide) {
+        c1 = aPoint;
+        c2 = bPoint;
+      } else {
+        c1 = bPoint;
+        c2 = aPoint;
+      }
+
+      //Two contributions are the bigger-sided point with each 1 replaced with 2.
+      if (bitAnd(c1, 1.0) != 0.0) {
+        xsv_ext0 = xsb + 2.0;
+        xsv_ext1 = xsb + 1.0;
+        dx_ext0 = dx0 - 2.0 - 3.0 * SQUISH_CONSTANT_4D;
+        dx_ext1 = dx0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+      } else {
+        xsv_ext0 = xsv_ext1 = xsb;
+        dx_ext0 = dx_ext1 = dx0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c1, 2.0) != 0.0) {
+        ysv_ext0 = ysv_ext1 = ysb + 1.0;
+        dy_ext0 = dy_ext1 = dy0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c1, 1.0) == 0.0) {
+          ysv_ext0 += 1.0;
+          dy_ext0 -= 1.0;
+        } else {
+          ysv_ext1 += 1.0;
+          dy_ext1 -= 1.0;
+        }
+      } else {
+        ysv_ext0 = ysv_ext1 = ysb;
+        dy_ext0 = dy_ext1 = dy0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c1, 4.0) != 0.0) {
+        zsv_ext0 = zsv_ext1 = zsb + 1.0;
+        dz_ext0 = dz_ext1 = dz0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        if (bitAnd(c1, 3.0) == 0.0) {
+          zsv_ext0 += 1.0;
+          dz_ext0 -= 1.0;
+        } else {
+          zsv_ext1 += 1.0;
+          dz_ext1 -= 1.0;
+        }
+      } else {
+        zsv_ext0 = zsv_ext1 = zsb;
+        dz_ext0 = dz_ext1 = dz0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      if (bitAnd(c1, 8.0) != 0.0) {
+        wsv_ext0 = wsb + 1.0;
+        wsv_ext1 = wsb + 2.0;
+        dw_ext0 = dw0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+        dw_ext1 = dw0 - 2.0 - 3.0 * SQUISH_CONSTANT_4D;
+      } else {
+        wsv_ext0 = wsv_ext1 = wsb;
+        dw_ext0 = dw_ext1 = dw0 - 3.0 * SQUISH_CONSTANT_4D;
+      }
+
+      //One contribution is a permutation of (1,1,1,-1) based on the smaller-sided point
+      xsv_ext2 = xsb + 1.0;
+      ysv_ext2 = ysb + 1.0;
+      zsv_ext2 = zsb + 1.0;
+      wsv_ext2 = wsb + 1.0;
+      dx_ext2 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+      dy_ext2 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+      dz_ext2 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+      dw_ext2 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+      if (bitAnd(c2, 1.0) == 0.0) {
+        xsv_ext2 -= 2.0;
+        dx_ext2 += 2.0;
+      } else if (bitAnd(c2, 2.0) == 0.0) {
+        ysv_ext2 -= 2.0;
+        dy_ext2 += 2.0;
+      } else if (bitAnd(c2, 4.0) == 0.0) {
+        zsv_ext2 -= 2.0;
+        dz_ext2 += 2.0;
+      } else {
+        wsv_ext2 -= 2.0;
+        dw_ext2 += 2.0;
+      }
+    }
+
+    //Contribution (1,1,1,0)
+    float dx4 = dx0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dy4 = dy0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dz4 = dz0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dw4 = dw0 - 3.0 * SQUISH_CONSTANT_4D;
+    float attn4 = 2.0 - dx4 * dx4 - dy4 * dy4 - dz4 * dz4 - dw4 * dw4;
+    if (attn4 > 0.0) {
+      attn4 *= attn4;
+      value += attn4 * attn4 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 1.0, wsb + 0.0, dx4, dy4, dz4, dw4);
+    }
+
+    //Contribution (1,1,0,1)
+    float dx3 = dx4;
+    float dy3 = dy4;
+    float dz3 = dz0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dw3 = dw0 - 1.0 - 3.0 * SQUISH_CONSTANT_4D;
+    float attn3 = 2.0 - dx3 * dx3 - dy3 * dy3 - dz3 * dz3 - dw3 * dw3;
+    if (attn3 > 0.0) {
+      attn3 *= attn3;
+      value += attn3 * attn3 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 0.0, wsb + 1.0, dx3, dy3, dz3, dw3);
+    }
+
+    //Contribution (1,0,1,1)
+    float dx2 = dx4;
+    float dy2 = dy0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dz2 = dz4;
+    float dw2 = dw3;
+    float attn2 = 2.0 - dx2 * dx2 - dy2 * dy2 - dz2 * dz2 - dw2 * dw2;
+    if (attn2 > 0.0) {
+      attn2 *= attn2;
+      value += attn2 * attn2 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 1.0, wsb + 1.0, dx2, dy2, dz2, dw2);
+    }
+
+    //Contribution (0,1,1,1)
+    float dx1 = dx0 - 3.0 * SQUISH_CONSTANT_4D;
+    float dz1 = dz4;
+    float dy1 = dy4;
+    float dw1 = dw3;
+    float attn1 = 2.0 - dx1 * dx1 - dy1 * dy1 - dz1 * dz1 - dw1 * dw1;
+    if (attn1 > 0.0) {
+      attn1 *= attn1;
+      value += attn1 * attn1 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 1.0, wsb + 1.0, dx1, dy1, dz1, dw1);
+    }
+
+    //Contribution (1,1,0,0)
+    float dx5 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy5 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz5 = dz0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw5 = dw0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn5 = 2.0 - dx5 * dx5 - dy5 * dy5 - dz5 * dz5 - dw5 * dw5;
+    if (attn5 > 0.0) {
+      attn5 *= attn5;
+      value += attn5 * attn5 * extrapolate(xsb + 1.0, ysb + 1.0, zsb + 0.0, wsb + 0.0, dx5, dy5, dz5, dw5);
+    }
+
+    //Contribution (1,0,1,0)
+    float dx6 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy6 = dy0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz6 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw6 = dw0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn6 = 2.0 - dx6 * dx6 - dy6 * dy6 - dz6 * dz6 - dw6 * dw6;
+    if (attn6 > 0.0) {
+      attn6 *= attn6;
+      value += attn6 * attn6 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 1.0, wsb + 0.0, dx6, dy6, dz6, dw6);
+    }
+
+    //Contribution (1,0,0,1)
+    float dx7 = dx0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy7 = dy0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz7 = dz0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw7 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn7 = 2.0 - dx7 * dx7 - dy7 * dy7 - dz7 * dz7 - dw7 * dw7;
+    if (attn7 > 0.0) {
+      attn7 *= attn7;
+      value += attn7 * attn7 * extrapolate(xsb + 1.0, ysb + 0.0, zsb + 0.0, wsb + 1.0, dx7, dy7, dz7, dw7);
+    }
+
+    //Contribution (0,1,1,0)
+    float dx8 = dx0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy8 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz8 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw8 = dw0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn8 = 2.0 - dx8 * dx8 - dy8 * dy8 - dz8 * dz8 - dw8 * dw8;
+    if (attn8 > 0.0) {
+      attn8 *= attn8;
+      value += attn8 * attn8 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 1.0, wsb + 0.0, dx8, dy8, dz8, dw8);
+    }
+
+    //Contribution (0,1,0,1)
+    float dx9 = dx0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy9 = dy0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz9 = dz0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw9 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn9 = 2.0 - dx9 * dx9 - dy9 * dy9 - dz9 * dz9 - dw9 * dw9;
+    if (attn9 > 0.0) {
+      attn9 *= attn9;
+      value += attn9 * attn9 * extrapolate(xsb + 0.0, ysb + 1.0, zsb + 0.0, wsb + 1.0, dx9, dy9, dz9, dw9);
+    }
+
+    //Contribution (0,0,1,1)
+    float dx10 = dx0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dy10 = dy0 - 0.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dz10 = dz0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float dw10 = dw0 - 1.0 - 2.0 * SQUISH_CONSTANT_4D;
+    float attn10 = 2.0 - dx10 * dx10 - dy10 * dy10 - dz10 * dz10 - dw10 * dw10;
+    if (attn10 > 0.0) {
+      attn10 *= attn10;
+      value += attn10 * attn10 * extrapolate(xsb + 0.0, ysb + 0.0, zsb + 1.0, wsb + 1.0, dx10, dy10, dz10, dw10);
+    }
+  }
+
+  //First extra vertex
+  float attn_ext0 = 2.0 - dx_ext0 * dx_ext0 - dy_ext0 * dy_ext0 - dz_ext0 * dz_ext0 - dw_ext0 * dw_ext0;
+  if (attn_ext0 > 0.0)
+  {
+    attn_ext0 *= attn_ext0;
+    value += attn_ext0 * attn_ext0 * extrapolate(xsv_ext0, ysv_ext0, zsv_ext0, wsv_ext0, dx_ext0, dy_ext0, dz_ext0, dw_ext0);
+  }
+
+  //Second extra vertex
+  float attn_ext1 = 2.0 - dx_ext1 * dx_ext1 - dy_ext1 * dy_ext1 - dz_ext1 * dz_ext1 - dw_ext1 * dw_ext1;
+  if (attn_ext1 > 0.0)
+  {
+    attn_ext1 *= attn_ext1;
+    value += attn_ext1 * attn_ext1 * extrapolate(xsv_ext1, ysv_ext1, zsv_ext1, wsv_ext1, dx_ext1, dy_ext1, dz_ext1, dw_ext1);
+  }
+
+  //Third extra vertex
+  float attn_ext2 = 2.0 - dx_ext2 * dx_ext2 - dy_ext2 * dy_ext2 - dz_ext2 * dz_ext2 - dw_ext2 * dw_ext2;
+  if (attn_ext2 > 0.0)
+  {
+    attn_ext2 *= attn_ext2;
+    value += attn_ext2 * attn_ext2 * extrapolate(xsv_ext2, ysv_ext2, zsv_ext2, wsv_ext2, dx_ext2, dy_ext2, dz_ext2, dw_ext2);
+  }
+
+  return value / NORM_CONSTANT_4D;
+}
+
+// map2(value, -1, 1, start, stop, QUADRATIC, EASE_IN_OUT)
+vec3 easeInOut(float value, vec3 start, vec3 stop) {
+  vec3 c = stop - start;
+  float t = value + 1.0;
+  if (t < 1.0) return c / 2.0 * t * t + start;
+  t -= 1.0;
+  return -c / 2.0 * (t * (t - 2.0) - 1.0) + start;
+}
+
+void main() {
+  float ns = simplexNoise(noiseScale * meshPosition.x, noiseScale * meshPosition.y, noiseZ, noiseW);
+
+  // map(ns, -1, 1, -slider, slider) is ns * slider
+  vec3 offset = animated > 0.5 ? easeInOut(ns, rangeMin, rangeMax) : ns * extrusion;
+
+  vec4 position = vec4(meshPosition + offset * axes, 1.0);
+  gl_Position = meshTransform * position;
+  eyePosition = (meshModelview * position).xyz;
+}
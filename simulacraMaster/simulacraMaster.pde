@@ -13,13 +13,13 @@
 //
 //                            Instructions
 //
-//  1. First select a shape to create in setup() by setting the corresponding boolean to 'true';
-//  2. Select an update function in the Vert class if desired.
+//  1. First select a shape to create in selectShape() by setting the corresponding boolean to 'true';
+//  2. Select a modulator from the dropdown in the GUI if desired.
 //    (some work better with some shapes than others)
 //  3. Play with the GUI controls in order to create interesting behaviours
 //
 // n.b.
-// The program must be restarted in order for a new shape and update to be selected.
+// The program must be restarted in order for a new shape to be selected.
 // Unfortunately the GUI sizing controls are temperamental and can cause null pointer errors
 // so it is recommended these are avoided while the program is running.
 //
@@ -44,26 +44,31 @@ import peasy.*;
 import controlP5.*;
 import nervoussystem.obj.*;
 import java.util.*;
-import toxi.sim.grayscott.*;
-import toxi.math.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.io.*;
 
 // Define required classes
 OpenSimplexNoise simplexNoise;
+OpenSimplexNoiseFloat simplexNoiseFloat;
 GUI gui;
 
 // Define the Grey Scott algorithm
-// Uses toxiclibs greyScott Reaction Diffusion
+// Based on toxiclibs greyScott Reaction Diffusion, see GreyScott.java
 // http://toxiclibs.org/2010/02/simutils-grayscott/
-GrayScott gs;
+GreyScott gs;
 boolean bReaction;
 int gsWidth = 128;
 int gsHeight = 128;
-int feedW, feedH = 3;
+int feedW = 3, feedH = 3;
 int gsIterations = 20;
 float gsRes = 2;
+// Step the simulation in tiles that stay in cache, enable if HeadlessExport --benchmark shows it's faster
+boolean bGreyScottTiles = false;
 boolean bCreatures;
 int numCreatures = 200;
-PVector[] creatures = new PVector[numCreatures];
 
 // Define camera and GUI
 PeasyCam cam;
@@ -105,16 +110,10 @@ void setup() {
   // Can cause runtime exception when using a class that requires some time to load (model, modelSequence)
   frameRate(24);
 
-  // Initialise noise and GUI
-  simplexNoise = new OpenSimplexNoise();
+  // Initialise noise, the Reaction Diffusion and the GUI
+  initSimulation();
   gui = new GUI();
 
-  // Initialise the Reaction Diffusion algorithm with initial values.
-  gs = new GrayScott(gsWidth, gsHeight, true);
-  gs.setCoefficients(0.028, 0.084, 0.095, 0.03);
-  bReaction = false;
-  bCreatures = false;
-
   // Setup PeasyCam
   cam = new PeasyCam(this, 200);
   cam.setMinimumDistance(0.0001);
@@ -122,6 +121,33 @@ void setup() {
   if (bTrackpad) cam.setWheelScale(.05);
   state1 = cam.getState();
 
+  // Instantiate the chosen shape
+  selectShape();
+  shape1 = createArtifact();
+
+  // Setup ControlP5
+  gui.init(this);
+}
+
+// Initialise everything the shapes need that doesn't depend on a window.
+// Also called by HeadlessExport.
+void initSimulation(){
+
+  // Initialise noise
+  simplexNoise = new OpenSimplexNoise();
+  simplexNoiseFloat = new OpenSimplexNoiseFloat();
+
+  // Initialise the Reaction Diffusion algorithm with initial values.
+  gs = new GreyScott(gsWidth, gsHeight, true);
+  gs.setCoefficients(0.028, 0.084, 0.095, 0.03);
+  gs.setBlocking(bGreyScottTiles);
+  gsSim.init();
+  bReaction = false;
+  bCreatures = false;
+}
+
+void selectShape(){
+
   //////////////////////////////////////////////////
   // This is where you select the shape to create //
   //////////////////////////////////////////////////
@@ -138,31 +164,34 @@ void setup() {
   image =       false;
   imgSeq =      false;
   grey =        false;
+}
 
-  // Instantiate the chosen shape
-  if (plane)      shape1 = new Plane();
-  if (hyperbolic) shape1 = new Hyperbolic();
-  if (sphere)     shape1 = new Sphere();
-  if (cube)       shape1 = new Cube();
-  if (flower)     shape1 = new Flower();
-  if (barnsley)   shape1 = new Barnsley();
-  if (model)      shape1 = new Model();
-  if (modelSeq)   shape1 = new ModelSequence();
-  if (image)      shape1 = new ImageReader();
-  if (imgSeq)     shape1 = new ImageSequence();
+// Instantiate the selected shape
+Artifact createArtifact(){
+  Artifact shape = null;
+
+  if (plane)      shape = new Plane();
+  if (hyperbolic) shape = new Hyperbolic();
+  if (sphere)     shape = new Sphere();
+  if (cube)       shape = new Cube();
+  if (flower)     shape = new Flower();
+  if (barnsley)   shape = new Barnsley();
+  if (model)      shape = new Model();
+  if (modelSeq)   shape = new ModelSequence();
+  if (image)      shape = new ImageReader();
+  if (imgSeq)     shape = new ImageSequence();
 
   if (tongue){
     animated = true;
-    shape1 = new Tongue();
+    shape = new Tongue();
     }
   if (grey){
     bReaction = true;
     bCreatures = false;
-    shape1 = new GreyScottPlane();
+    shape = new GreyScottPlane();
     }
 
-  // Setup ControlP5
-  gui.init(this);
+  return shape;
 }
 
 void draw() {
@@ -176,13 +205,27 @@ void draw() {
   if (toggle_Wireframe)  setStroke();
   if (!toggle_Wireframe) noStroke();
 
-  // Setup, update and draw the shape
-  shape1.setup();
+  profiler.beginFrame();
+
+  // Rebuild the shape if its topology has changed, then update and draw it
+  profiler.begin(PHASE_REBUILD);
+  shape1.rebuild();
+  profiler.end();
+
+  profiler.begin(PHASE_UPDATE);
   shape1.update(meshIt);
-  shape1.draw(this.g, meshIt);
+  profiler.end();
+
+  profiler.begin(PHASE_DRAW);
+  shape1.render(this.g, meshIt);
+  profiler.end();
 
   // Draw the GUI
+  profiler.begin(PHASE_GUI);
   gui.display(this);
+  profiler.end();
+
+  profiler.endFrame();
 
   // Advance the iterator
   meshIt++;
@@ -277,7 +320,8 @@ float map2(float value, float start1, float stop1, float start2, float stop2, in
 
 // empty the shape and recreate its vertices
 public void recreate(int theValue) {
-  shape1.setup();
+  shape1.invalidate();
+  shape1.rebuild();
 }
 
 public void exportMesh(int theValue) {
@@ -287,8 +331,9 @@ public void exportMesh(int theValue) {
 }
 
 public void exportMeshSequence(int theValue) {
-  // Reset the Grey scott algorithm if desired, this can be commented out if the algorithm is being used as a texture
-  gs.reset();
+  // Reset the Grey scott algorithm, or start from the last checkpoint saved or loaded, see GreyScottCheckpoint.pde
+  // This can be commented out if the algorithm is being used as a texture
+  startGreyScottExport();
 
   // Calls the export sequence function
   shape1.exportMeshSequence("seq", meshIt);
@@ -297,6 +342,21 @@ public void exportMeshSequence(int theValue) {
   notification = str(numFrames_Slider) + " FRAMES EXPORTED.";
 }
 
+public void exportBinarySequence(int theValue) {
+  // Same as exportMeshSequence, written to a single binary file
+  startGreyScottExport();
+
+  try {
+    shape1.exportBinarySequence("seq", meshIt);
+    notification = str(numFrames_Slider) + " FRAMES EXPORTED.";
+  }
+  catch (RuntimeException e) {
+    // Shapes whose vertices change from frame to frame can't share one set of faces
+    println(e.getMessage());
+    notification = "SEQUENCE FAILED.";
+  }
+}
+
 public void saveSettings(int theValue) {
     // Saves all controlP5 settings to a json file which can be renamed with corresponding shape for easy recall
     notification = "SETTINGS SAVED.";
@@ -338,15 +398,22 @@ public void animated(int theValue){
     else if (!animated) notification = "ANIMATION MODE DISABLED.";
 }
 
+public void modulator(int theValue){
+    // Switch the modulator applied to every vertex, taking effect from the next frame
+    modulatorIndex = constrain(theValue, 0, modulators.length - 1);
+
+    notification = modulators[modulatorIndex].name().toUpperCase() + " MODULATOR SELECTED.";
+}
+
 // GUI Event handlers which get called whenever a GUI value is changed
 public void controlEvent(ControlEvent theEvent) {
 
-  // When enabled, call the shape's setup whenever a parameter is changed
+  // When enabled, rebuild the shape whenever a parameter it depends on is changed
   if(auto_update){
-    shape1.setup();
+    shape1.rebuild();
 
-    // If using more than one shape, setup the second etc...
-    // shape2.setup();
+    // If using more than one shape, rebuild the second etc...
+    // shape2.rebuild();
   }
 
   // Reset extrusion
@@ -414,6 +481,26 @@ public void keyPressed(){
     cam.setState(state3, 1000);
     notification = "CAMERA 3 LOADED.";
     break;
+
+  // Grey Scott checkpoints, shift and the camera keys
+  case 'A':
+    saveGreyScottSlot(1);
+    break;
+  case 'S':
+    saveGreyScottSlot(2);
+    break;
+  case 'D':
+    saveGreyScottSlot(3);
+    break;
+  case 'F':
+    loadGreyScottSlot(1);
+    break;
+  case 'G':
+    loadGreyScottSlot(2);
+    break;
+  case 'H':
+    loadGreyScottSlot(3);
+    break;
   }
 }
 
@@ -436,7 +523,8 @@ public void keyReleased(){
     notification = "GS K: " + str(gs.getK());
   }
   if (key == 'r'){
-    gs.reset();
+    gsSim.reset();
+    gsExportSlot = 0;
     notification = "GREY SCOTT RESET.";
     }
 }